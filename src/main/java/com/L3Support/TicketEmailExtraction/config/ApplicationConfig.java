@@ -2,10 +2,13 @@
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableConfigurationProperties
+@EnableScheduling
 public class ApplicationConfig {
     // Configuration for file-based processing only
     // No mail dependencies required
+    // Scheduling drives the periodic reconciliation scan of the input folder
 }
\ No newline at end of file
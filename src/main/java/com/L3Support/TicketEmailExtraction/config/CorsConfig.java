@@ -10,6 +10,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.L3Support.TicketEmailExtraction.controller.TicketController;
+
 @Configuration
 public class CorsConfig implements WebMvcConfigurer {
 
@@ -29,6 +31,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(TicketController.NEXT_CURSOR_HEADER) // Ticket listing page cursor
                 .allowCredentials(true)
                 .maxAge(3600); // Cache preflight response for 1 hour
     }
@@ -56,6 +59,9 @@ public class CorsConfig implements WebMvcConfigurer {
         // Allow all headers
         configuration.setAllowedHeaders(Arrays.asList("*"));
         
+        // Let the frontend read the ticket listing page cursor
+        configuration.setExposedHeaders(Arrays.asList(TicketController.NEXT_CURSOR_HEADER));
+        
         // Allow credentials (cookies, authorization headers)
         configuration.setAllowCredentials(true);
         
@@ -1,17 +1,24 @@
 package com.L3Support.TicketEmailExtraction.controller;
 
+import com.L3Support.TicketEmailExtraction.extraction.ClassificationWindows;
+import com.L3Support.TicketEmailExtraction.service.EmailFolderIndex;
+import com.L3Support.TicketEmailExtraction.service.EmailFolderWatcher;
 import com.L3Support.TicketEmailExtraction.service.FileBasedEmailService;
+import com.L3Support.TicketEmailExtraction.service.IngestionJob;
+import com.L3Support.TicketEmailExtraction.service.IngestionJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,18 +30,41 @@ import java.util.Map;
 public class EmailController {
 
     private final FileBasedEmailService emailService;
+    private final EmailFolderWatcher emailFolderWatcher;
+    private final IngestionJobService ingestionJobService;
+    private final EmailFolderIndex folderIndex;
+    private final ClassificationWindows classificationWindows;
 
     @Operation(summary = "Process all pending email files", 
-               description = "Processes all email files in the input folder and extracts L3 support tickets")
+               description = "Starts a background job that processes all email files in the input folder and returns its job ID; "
+                       + "pass wait=true to block until processing is done")
     @PostMapping("/process")
-    public ResponseEntity<Map<String, Object>> processEmails() {
+    public ResponseEntity<Map<String, Object>> processEmails(@RequestParam(defaultValue = "false") boolean wait) {
+        if (!wait) {
+            IngestionJob job = ingestionJobService.submitFolderScan();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "success", true,
+                "message", "📨 Email processing job submitted",
+                "jobId", job.getId(),
+                "statusUrl", "/api/emails/jobs/" + job.getId(),
+                "eventsUrl", "/api/emails/jobs/" + job.getId() + "/events",
+                "timestamp", System.currentTimeMillis()
+            ));
+        }
+
         try {
             log.info("🔄 Processing email files...");
-            emailService.processAllEmails();
+            FileBasedEmailService.ProcessingRunResult result = emailService.processAllEmails();
             
             Map<String, Object> response = Map.of(
                 "success", true,
                 "message", "✅ Email processing completed successfully!",
+                "processed", result.getProcessedCount(),
+                "duplicates", result.getDuplicateCount(),
+                "skipped", result.getSkippedCount(),
+                "errors", result.getErrorCount(),
+                "elapsedMillis", result.getElapsedMillis(),
+                "filesPerSecond", result.getFilesPerSecond(),
                 "timestamp", System.currentTimeMillis()
             );
             
@@ -50,6 +80,42 @@ public class EmailController {
         }
     }
 
+    @Operation(summary = "List ingestion jobs",
+               description = "Returns recent ingestion jobs with their counters, oldest first")
+    @GetMapping("/jobs")
+    public ResponseEntity<List<Map<String, Object>>> listJobs() {
+        return ResponseEntity.ok(ingestionJobService.jobs().stream()
+            .map(job -> job.toSummary(false))
+            .toList());
+    }
+
+    @Operation(summary = "Get ingestion job status",
+               description = "Returns counts, rate, ETA and per-file outcomes of an ingestion job")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId) {
+        return ingestionJobService.getJob(jobId)
+            .map(job -> ResponseEntity.ok(job.toSummary(true)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Stream ingestion job progress",
+               description = "Server-sent events: 'progress' while the job runs, then a final 'finished' event")
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobEvents(@PathVariable String jobId) {
+        return ingestionJobService.subscribe(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Cancel an ingestion job",
+               description = "Stops the job after the files currently in progress; unread files stay in the input folder")
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> cancelJob(@PathVariable String jobId) {
+        return ingestionJobService.cancel(jobId)
+            .map(job -> ResponseEntity.ok(job.toSummary(false)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     @Operation(summary = "Get processing statistics", 
                description = "Returns counts of pending, processed, and error files")
     @GetMapping("/stats")
@@ -62,6 +128,7 @@ public class EmailController {
                 "processed", stats.getProcessedCount(),
                 "errors", stats.getErrorCount(),
                 "total", stats.getPendingCount() + stats.getProcessedCount() + stats.getErrorCount(),
+                "watcherRunning", emailFolderWatcher.isRunning(),
                 "timestamp", System.currentTimeMillis()
             );
             
@@ -74,17 +141,44 @@ public class EmailController {
         }
     }
 
+    @Operation(summary = "Get classification window statistics",
+               description = "Per classified field (project, priority, bug type): how many lookups ran and how many "
+                       + "had to widen from the subject and newest message to the whole email")
+    @GetMapping("/classification/stats")
+    public ResponseEntity<Map<String, Object>> getClassificationStats() {
+        return ResponseEntity.ok(Map.of(
+            "windowTokens", classificationWindows.getWindowTokens(),
+            "fields", classificationWindows.getStats(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+
     @Operation(summary = "List files in different folders", 
-               description = "Lists files in pending, processed, and error folders")
+               description = "Lists files in pending, processed, and error folders, one page per folder in name order. "
+                       + "Pass folder and the returned next cursor as 'after' to page through a single folder")
     @GetMapping("/files")
-    public ResponseEntity<Map<String, Object>> listFiles() {
+    public ResponseEntity<Map<String, Object>> listFiles(
+            @RequestParam(required = false) EmailFolderIndex.Folder folder,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int size) {
         try {
-            Map<String, Object> response = Map.of(
-                "pending", getFilesInFolder("./emails"),
-                "processed", getFilesInFolder("./emails/processed"),
-                "errors", getFilesInFolder("./emails/error"),
-                "timestamp", System.currentTimeMillis()
-            );
+            int pageSize = Math.min(Math.max(size, 1), 1000);
+            Map<String, Object> response = new LinkedHashMap<>();
+            Map<String, Object> totals = new LinkedHashMap<>();
+            Map<String, Object> next = new LinkedHashMap<>();
+            for (EmailFolderIndex.Folder current : EmailFolderIndex.Folder.values()) {
+                if (folder != null && folder != current) {
+                    continue;
+                }
+                String key = responseKeyOf(current);
+                EmailFolderIndex.FilePage page = folderIndex.list(current, folder != null ? after : null, pageSize);
+                response.put(key, page.files().stream().map(EmailFolderIndex.FileEntry::name).toList());
+                totals.put(key, page.total());
+                next.put(key, page.nextAfter());
+            }
+            response.put("totals", totals);
+            response.put("next", next);
+            response.put("timestamp", System.currentTimeMillis());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -101,17 +195,20 @@ public class EmailController {
     public ResponseEntity<Map<String, Object>> checkHealth() {
         try {
             // Create directories if they don't exist
-            Files.createDirectories(Paths.get("./emails"));
-            Files.createDirectories(Paths.get("./emails/processed"));
-            Files.createDirectories(Paths.get("./emails/error"));
+            Path inputPath = folderIndex.pathOf(EmailFolderIndex.Folder.PENDING);
+            Path processedPath = folderIndex.pathOf(EmailFolderIndex.Folder.PROCESSED);
+            Path errorPath = folderIndex.pathOf(EmailFolderIndex.Folder.ERROR);
+            Files.createDirectories(inputPath);
+            Files.createDirectories(processedPath);
+            Files.createDirectories(errorPath);
             
             Map<String, Object> response = Map.of(
                 "status", "healthy",
                 "message", "✅ All systems operational",
                 "folders", Map.of(
-                    "input", "./emails",
-                    "processed", "./emails/processed",
-                    "error", "./emails/error"
+                    "input", inputPath.toString(),
+                    "processed", processedPath.toString(),
+                    "error", errorPath.toString()
                 ),
                 "timestamp", System.currentTimeMillis()
             );
@@ -127,22 +224,11 @@ public class EmailController {
         }
     }
 
-    private List<String> getFilesInFolder(String folderPath) {
-        List<String> files = new ArrayList<>();
-        try {
-            Path path = Paths.get(folderPath);
-            if (Files.exists(path)) {
-                Files.list(path)
-                    .filter(Files::isRegularFile)
-                    .filter(file -> {
-                        String name = file.getFileName().toString().toLowerCase();
-                        return name.endsWith(".txt") || name.endsWith(".eml") || name.endsWith(".msg");
-                    })
-                    .forEach(file -> files.add(file.getFileName().toString()));
-            }
-        } catch (Exception e) {
-            log.warn("⚠️ Could not list files in {}: {}", folderPath, e.getMessage());
-        }
-        return files;
+    private String responseKeyOf(EmailFolderIndex.Folder folder) {
+        return switch (folder) {
+            case PENDING -> "pending";
+            case PROCESSED -> "processed";
+            case ERROR -> "errors";
+        };
     }
-}
\ No newline at end of file
+}
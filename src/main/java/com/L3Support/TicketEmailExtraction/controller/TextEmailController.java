@@ -1,8 +1,12 @@
 package com.L3Support.TicketEmailExtraction.controller;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,8 +14,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.L3Support.TicketEmailExtraction.model.Ticket;
 import com.L3Support.TicketEmailExtraction.repository.TicketRepository;
+import com.L3Support.TicketEmailExtraction.service.TextEmailParseCache;
 import com.L3Support.TicketEmailExtraction.service.TextEmailParserService;
 
+import io.swagger.v3.oas.annotations.Operation;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
@@ -35,14 +41,17 @@ public class TextEmailController {
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private TextEmailParseCache parseCache;
+
     @PostMapping("/process-text")
     public ResponseEntity<Ticket> processTextEmail(@RequestBody String emailContent) {
         try {
             log.info("📧 Processing text email...");
             log.info("📄 Email content length: {} characters", emailContent.length());
 
-            // Parse the email content to extract ticket information
-            Ticket ticket = textEmailParserService.parseEmailToTicket(emailContent);
+            // Parse the email content to extract ticket information; retries of the same content hit the cache
+            Ticket ticket = parseCache.getOrParse(emailContent, textEmailParserService::parseEmailToTicket);
             
             // Save the ticket to the database
             Ticket savedTicket = ticketRepository.save(ticket);
@@ -62,4 +71,28 @@ public class TextEmailController {
                     .build());
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "📊 Parse cache statistics for /process-text")
+    @GetMapping("/process-text/cache")
+    public ResponseEntity<Map<String, Object>> getParseCacheStats() {
+        TextEmailParseCache.CacheStats stats = parseCache.getStats();
+        return ResponseEntity.ok(Map.of(
+            "enabled", stats.isEnabled(),
+            "size", stats.getSize(),
+            "maxEntries", stats.getMaxEntries(),
+            "hits", stats.getHits(),
+            "misses", stats.getMisses(),
+            "hitRate", stats.getHitRate(),
+            "evictions", stats.getEvictions(),
+            "invalidations", stats.getInvalidations()
+        ));
+    }
+
+    @Operation(summary = "🧹 Clear the /process-text parse cache")
+    @DeleteMapping("/process-text/cache")
+    public ResponseEntity<Map<String, Object>> clearParseCache() {
+        parseCache.invalidateAll();
+        log.info("🧹 Parse cache cleared");
+        return ResponseEntity.ok(Map.of("cleared", true));
+    }
+}
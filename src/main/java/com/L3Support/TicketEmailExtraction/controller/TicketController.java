@@ -1,9 +1,14 @@
 package com.L3Support.TicketEmailExtraction.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,14 +17,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.L3Support.TicketEmailExtraction.enums.Project;
+import com.L3Support.TicketEmailExtraction.model.BugType;
 import com.L3Support.TicketEmailExtraction.model.Contributor;
+import com.L3Support.TicketEmailExtraction.model.Priority;
+import com.L3Support.TicketEmailExtraction.model.Status;
 import com.L3Support.TicketEmailExtraction.model.Ticket;
 import com.L3Support.TicketEmailExtraction.model.TicketEditRequest;
+import com.L3Support.TicketEmailExtraction.model.TicketFilter;
+import com.L3Support.TicketEmailExtraction.model.TicketListResponse;
+import com.L3Support.TicketEmailExtraction.model.TicketPage;
 import com.L3Support.TicketEmailExtraction.model.TicketResponse;
 import com.L3Support.TicketEmailExtraction.service.TicketService;
 import com.L3Support.TicketEmailExtraction.service.TicketContributorService;
+import com.L3Support.TicketEmailExtraction.service.TicketExportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -37,26 +52,85 @@ import lombok.extern.slf4j.Slf4j;
     "http://127.0.0.1:3001",
     "http://127.0.0.1:4200",
     "http://127.0.0.1:5173"
-})
+}, exposedHeaders = TicketController.NEXT_CURSOR_HEADER)
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Tickets", description = "Ticket management operations")
 public class TicketController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final TicketService ticketService;
     private final TicketContributorService ticketContributorService;
+    private final TicketExportService ticketExportService;
 
-    @Operation(summary = "🔍 Get all tickets")
+    @Operation(summary = "🔍 Get tickets, one page at a time (next page cursor in the X-Next-Cursor header, long texts via GET /{id})")
     @GetMapping
-    public ResponseEntity<List<TicketResponse>> getAllTickets() {
+    public ResponseEntity<List<TicketListResponse>> getAllTickets(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String project,
+            @RequestParam(required = false) Long contributorId,
+            @RequestParam(required = false) String bugType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<TicketResponse> tickets = ticketService.getAllTickets();
-            return ResponseEntity.ok(tickets);
+            TicketFilter filter = toFilter(status, priority, project, contributorId, bugType, receivedFrom, receivedTo);
+            return toPageResponse(ticketService.getTickets(filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @Operation(summary = "📤 Export tickets as JSON lines, streamed (same filters as the listing)")
+    @GetMapping(value = "/export/ndjson", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTicketsNdjson(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String project,
+            @RequestParam(required = false) Long contributorId,
+            @RequestParam(required = false) String bugType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedTo) {
+        try {
+            TicketFilter filter = toFilter(status, priority, project, contributorId, bugType, receivedFrom, receivedTo);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(NDJSON))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets.ndjson\"")
+                    .body(out -> ticketExportService.exportNdjson(filter, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "📤 Export tickets as CSV, streamed (same filters as the listing)")
+    @GetMapping(value = "/export/csv", produces = CSV)
+    public ResponseEntity<StreamingResponseBody> exportTicketsCsv(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) String project,
+            @RequestParam(required = false) Long contributorId,
+            @RequestParam(required = false) String bugType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate receivedTo) {
+        try {
+            TicketFilter filter = toFilter(status, priority, project, contributorId, bugType, receivedFrom, receivedTo);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(CSV))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets.csv\"")
+                    .body(out -> ticketExportService.exportCsv(filter, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "📄 Get ticket by ID")
     @GetMapping("/{id}")
     public ResponseEntity<TicketResponse> getTicketById(@PathVariable Long id) {
@@ -306,25 +380,57 @@ public class TicketController {
 
     // ==================== Additional Ticket Query Endpoints ====================
     
-    @Operation(summary = "📊 Get tickets by status")
+    @Operation(summary = "📊 Get tickets by status, one page at a time")
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TicketResponse>> getTicketsByStatus(@PathVariable String status) {
+    public ResponseEntity<List<TicketListResponse>> getTicketsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<TicketResponse> tickets = ticketService.getTicketsByStatus(status);
-            return ResponseEntity.ok(tickets);
+            TicketFilter filter = TicketFilter.builder().status(parseEnum(Status.class, status)).build();
+            return toPageResponse(ticketService.getTickets(filter, cursor, limit));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
-    @Operation(summary = "🔥 Get tickets by priority")
+    @Operation(summary = "🔥 Get tickets by priority, one page at a time")
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<List<TicketResponse>> getTicketsByPriority(@PathVariable String priority) {
+    public ResponseEntity<List<TicketListResponse>> getTicketsByPriority(
+            @PathVariable String priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<TicketResponse> tickets = ticketService.getTicketsByPriority(priority);
-            return ResponseEntity.ok(tickets);
+            TicketFilter filter = TicketFilter.builder().priority(parseEnum(Priority.class, priority)).build();
+            return toPageResponse(ticketService.getTickets(filter, cursor, limit));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    // The page as the body, and the cursor of the next page (if any) as a header
+    private static ResponseEntity<List<TicketListResponse>> toPageResponse(TicketPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getTickets());
+    }
+
+    private static TicketFilter toFilter(String status, String priority, String project, Long contributorId,
+                                         String bugType, LocalDate receivedFrom, LocalDate receivedTo) {
+        return TicketFilter.builder()
+                .status(parseEnum(Status.class, status))
+                .priority(parseEnum(Priority.class, priority))
+                .project(StringUtils.hasText(project) ? Project.fromName(project) : null)
+                .contributorId(contributorId)
+                .bugType(parseEnum(BugType.class, bugType))
+                .receivedFrom(receivedFrom)
+                .receivedTo(receivedTo)
+                .build();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        return StringUtils.hasText(value) ? Enum.valueOf(type, value.trim().toUpperCase()) : null;
+    }
 }
@@ -1,36 +1,83 @@
 package com.L3Support.TicketEmailExtraction.enums;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 public enum Project {
-    MATERIAL_RECEIPT("Material Receipt"),
-    MY_BUDDY("My Buddy"),
-    CK_ALUMNI("CK Alumni"),
-    HEPL_ALUMNI("HEPL Alumni"),
-    HEPL_PORTAL("HEPL Portal"),
-    MMW_MODULE_TICKET_TOOL("MMW Module(Ticket tool)"),
-    CK_TRENDS("CK Trends"),
-    LIVEWIRE("Livewire"),
-    MEETING_AGENDA("Meeting Agenda"),
-    PRO_HIRE("Pro Hire"),
-    E_CAPEX("E-Capex"),
-    SOP("SOP"),
-    ASSET_MANAGEMENT("Asset Management"),
-    MOULD_MAMP("Mould Mamp"),
-    E_LIBRARY("E-Library"),
-    OUTLET_APPROVAL("Outlet_Approval"),
-    RA_TOOL("RA_Tool"),
-    CK_BAKERY("CK_Bakery"),
-    I_VIEW("I-View"),
-    FORM_BUILDER("FormBuilder"),
-    CK_TICKETING_TOOL("CK_Ticketing_tool"),
+    // Aliases are lower case: spellings, typos and formats seen in emails besides the display name
+    MATERIAL_RECEIPT("Material Receipt",
+        "materialreceipt", "material reciept", "materialreciept", "material-receipt", "material_receipt",
+        "mat receipt", "matreceipt"),
+    MY_BUDDY("My Buddy",
+        "mybuddy", "my-buddy", "my_buddy", "mybudy", "my budy"),
+    CK_ALUMNI("CK Alumni",
+        "ckalumni", "ck-alumni", "ck_alumni", "c k alumni", "ckpl alumni", "ck alumini", "ckalumini",
+        "ck alumi", "ckalumi"),
+    HEPL_ALUMNI("HEPL Alumni",
+        "heplalumni", "hepl-alumni", "hepl_alumni", "h e p l alumni", "hepl alumini", "heplalumini",
+        "hepl alumi", "heplalumi"),
+    HEPL_PORTAL("HEPL Portal",
+        "heplportal", "hepl-portal", "hepl_portal", "h e p l portal", "hepl portl", "heplportl",
+        "hepl protal", "heplprotal"),
+    MMW_MODULE_TICKET_TOOL("MMW Module(Ticket tool)",
+        "mmw module", "mmwmodule", "mmw-module", "mmw_module", "mmw module ticket tool",
+        "ticket tool", "tickettool", "ticket-tool", "ticket_tool", "mmw ticket tool", "mmwticket tool",
+        "mmw tickettool"),
+    CK_TRENDS("CK Trends",
+        "cktrends", "ck-trends", "ck_trends", "c k trends", "ck trend", "cktrend", "ck trands", "cktrands"),
+    LIVEWIRE("Livewire",
+        "live wire", "live-wire", "live_wire", "livwire", "livewir"),
+    MEETING_AGENDA("Meeting Agenda",
+        "meetingagenda", "meeting-agenda", "meeting_agenda", "meet agenda", "meetagenda", "meeting agend",
+        "meetingagend"),
+    PRO_HIRE("Pro Hire",
+        "prohire", "pro-hire", "pro_hire", "prohir", "pro hir"),
+    E_CAPEX("E-Capex",
+        "ecapex", "e capex", "e_capex", "e-capx", "ecapx", "e capx", "capex"),
+    SOP("SOP",
+        "s o p", "s.o.p", "standard operating procedure", "standard op procedure"),
+    ASSET_MANAGEMENT("Asset Management",
+        "assetmanagement", "asset-management", "asset_management", "assert management", "assertmanagement",
+        "asset mgmt", "assetmgmt", "asset managment", "assetmanagment"),
+    MOULD_MAMP("Mould Mamp",
+        "mouldmamp", "mould-mamp", "mould_mamp", "mold mamp", "moldmamp", "mould map", "mouldmap"),
+    E_LIBRARY("E-Library",
+        "elibrary", "e library", "e_library"),
+    OUTLET_APPROVAL("Outlet_Approval",
+        "outlet approval", "outletapproval", "outlet-approval"),
+    RA_TOOL("RA_Tool",
+        "ra tool", "ratool", "ra-tool"),
+    CK_BAKERY("CK_Bakery",
+        "ck bakery", "ckbakery", "ck-bakery"),
+    I_VIEW("I-View",
+        "iview", "i view", "i_view"),
+    FORM_BUILDER("FormBuilder",
+        "form builder", "form-builder", "form_builder"),
+    CK_TICKETING_TOOL("CK_Ticketing_tool",
+        "ck ticketing tool", "cktickettool", "ckticketingtool", "ticketing tool", "ticketingtool"),
     GENERAL("General");
 
+    private static final Map<String, Project> BY_NORMALIZED_NAME = new HashMap<>();
+
+    static {
+        for (Project project : values()) {
+            for (String name : project.getNames()) {
+                BY_NORMALIZED_NAME.putIfAbsent(normalize(name), project);
+            }
+        }
+    }
+
     private final String displayName;
+    private final List<String> aliases;
 
-    Project(String displayName) {
+    Project(String displayName, String... aliases) {
         this.displayName = displayName;
+        this.aliases = List.of(aliases);
     }
 
     @JsonValue
@@ -38,12 +85,41 @@ public enum Project {
         return displayName;
     }
 
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    /**
+     * The display name in lower case followed by the aliases
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>(aliases.size() + 1);
+        names.add(displayName.toLowerCase());
+        names.addAll(aliases);
+        return names;
+    }
+
     @JsonCreator
     public static Project fromString(String value) {
         if (value == null || value.trim().isEmpty()) {
             return GENERAL;
         }
-        
+        Project project = lookup(value);
+        return project != null ? project : GENERAL;
+    }
+
+    /**
+     * Like {@link #fromString} but rejects values that match no project instead of falling back to GENERAL
+     */
+    public static Project fromName(String value) {
+        Project project = value != null ? lookup(value) : null;
+        if (project == null) {
+            throw new IllegalArgumentException("Unknown project: " + value);
+        }
+        return project;
+    }
+
+    private static Project lookup(String value) {
         // First try to match by enum constant name (for database compatibility)
         try {
             return Project.valueOf(value.trim().toUpperCase());
@@ -58,103 +134,14 @@ public enum Project {
             }
         }
         
-        // Normalize the input string for fuzzy matching
-        String normalized = value.trim().toLowerCase()
+        // Display names and aliases, ignoring case, punctuation and extra spaces
+        return BY_NORMALIZED_NAME.get(normalize(value));
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase()
             .replaceAll("[^a-z0-9\\s]", "") // Remove special characters except spaces
             .replaceAll("\\s+", " "); // Replace multiple spaces with single space
-        
-        for (Project project : Project.values()) {
-            String projectNormalized = project.displayName.toLowerCase()
-                .replaceAll("[^a-z0-9\\s]", "")
-                .replaceAll("\\s+", " ");
-            
-            if (projectNormalized.equals(normalized)) {
-                return project;
-            }
-        }
-        
-        // Additional fuzzy matching for common variations
-        switch (normalized) {
-            case "material receipt":
-            case "material reciept":
-            case "materialreceipt":
-            case "materialreciept":
-                return MATERIAL_RECEIPT;
-            case "my buddy":
-            case "mybuddy":
-                return MY_BUDDY;
-            case "ck alumni":
-            case "ckalumni":
-                return CK_ALUMNI;
-            case "hepl alumni":
-            case "heplalumni":
-                return HEPL_ALUMNI;
-            case "hepl portal":  // Direct mapping to HEPL_PORTAL
-            case "heplportal":
-                return HEPL_PORTAL;
-            case "mmw module":
-            case "mmw module ticket tool":
-            case "mmwmodule":
-            case "ticket tool":
-            case "tickettool":
-                return MMW_MODULE_TICKET_TOOL;
-            case "ck trends":
-            case "cktrends":
-                return CK_TRENDS;
-            case "livewire":
-                return LIVEWIRE;
-            case "meeting agenda":
-            case "meetingagenda":
-                return MEETING_AGENDA;
-            case "pro hire":
-            case "prohire":
-                return PRO_HIRE;
-            case "e capex":
-            case "ecapex":
-                return E_CAPEX;
-            case "sop":
-                return SOP;
-            case "asset management":
-            case "assetmanagement":
-            case "assert management":
-            case "assertmanagement":
-                return ASSET_MANAGEMENT;
-            case "mould mamp":
-            case "mouldmamp":
-                return MOULD_MAMP;
-            case "e library":
-            case "elibrary":
-            case "e-library":
-                return E_LIBRARY;
-            case "outlet approval":
-            case "outletapproval":
-            case "outlet_approval":
-                return OUTLET_APPROVAL;
-            case "ra tool":
-            case "ratool":
-            case "ra_tool":
-                return RA_TOOL;
-            case "ck bakery":
-            case "ckbakery":
-            case "ck_bakery":
-                return CK_BAKERY;
-            case "i view":
-            case "iview":
-            case "i-view":
-                return I_VIEW;
-            case "form builder":
-            case "formbuilder":
-                return FORM_BUILDER;
-            case "ck ticketing tool":
-            case "cktickettool":
-            case "ck_ticketing_tool":
-            case "ticketing tool":
-            case "ticketingtool":
-                return CK_TICKETING_TOOL;
-
-            default:
-                return GENERAL;
-        }
     }
     
     @Override
@@ -0,0 +1,58 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.L3Support.TicketEmailExtraction.utils.TokenizedContent;
+
+/**
+ * The text keyword classifiers look at: the subject plus the start of the newest message
+ * segment. Only when every tier of a classifier finds nothing in that window is the whole
+ * text tokenized (once, shared by all classifiers of the email) and tried instead.
+ */
+public final class ClassificationWindow {
+
+    private final ClassificationWindows windows;
+    private final TokenizedContent narrow;
+    private final boolean truncated;
+    private final Supplier<TokenizedContent> wideSupplier;
+    private TokenizedContent wide;
+
+    ClassificationWindow(ClassificationWindows windows, TokenizedContent narrow, boolean truncated,
+                         Supplier<TokenizedContent> wideSupplier) {
+        this.windows = windows;
+        this.narrow = narrow;
+        this.truncated = truncated;
+        this.wideSupplier = wideSupplier;
+    }
+
+    /**
+     * Run the classifier's tiers on the window, and on the whole text if they find nothing
+     * there and the window left text out
+     */
+    public <T> Optional<T> classify(String field, Function<TokenizedContent, Optional<T>> tiers) {
+        Optional<T> result = tiers.apply(narrow);
+        if (result.isPresent() || !truncated) {
+            windows.recordLookup(field, false);
+            return result;
+        }
+        windows.recordLookup(field, true);
+        return tiers.apply(wide());
+    }
+
+    public TokenizedContent getNarrow() {
+        return narrow;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private synchronized TokenizedContent wide() {
+        if (wide == null) {
+            wide = wideSupplier.get();
+        }
+        return wide;
+    }
+}
@@ -0,0 +1,104 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.L3Support.TicketEmailExtraction.utils.TokenizedContent;
+
+/**
+ * Opens bounded classification windows and counts how often classifiers had to widen them,
+ * so parse latency stays flat for long forwarded chains and pasted logs.
+ */
+@Component
+public class ClassificationWindows {
+
+    // Lines that start an older, quoted message: the newest segment ends before them
+    private static final Pattern QUOTED_MESSAGE_START = Pattern.compile(
+        "(?i)^\\s*(-{2,}\\s*(original message|forwarded message)\\s*-{2,}|_{10,}|begin forwarded message:|from:\\s.*|on\\s.+\\swrote:)\\s*$");
+
+    // Body tokens after the subject (0 = whole newest segment)
+    @Value("${app.classification.window.tokens:300}")
+    private int windowTokens;
+
+    private final Map<String, FieldCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Window over the subject and the first tokens of the body's newest segment; wide is the
+     * whole text, only computed if a classifier has to widen
+     */
+    public ClassificationWindow open(CharSequence subject, String body, Supplier<TokenizedContent> wide) {
+        // Lines past a generous character budget cannot reach the window anyway
+        int scanLimit = windowTokens > 0 ? (int) Math.min(Integer.MAX_VALUE, windowTokens * 32L) : Integer.MAX_VALUE;
+        String segment = body != null ? body.substring(0, newestSegmentEnd(body, scanLimit)) : null;
+        boolean olderSegments = body != null && segment.length() < body.length();
+        TokenizedContent narrow = windowTokens > 0
+            ? TokenizedContent.limited(countTokens(subject) + windowTokens, subject, segment)
+            : TokenizedContent.of(subject, segment);
+        return new ClassificationWindow(this, narrow, olderSegments || narrow.isTruncated(), wide);
+    }
+
+    /**
+     * Lookups and widenings per classified field
+     */
+    public Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> stats = new TreeMap<>();
+        counters.forEach((field, count) -> stats.put(field, Map.of(
+            "lookups", count.lookups.get(),
+            "widened", count.widened.get())));
+        return stats;
+    }
+
+    public int getWindowTokens() {
+        return windowTokens;
+    }
+
+    void recordLookup(String field, boolean widened) {
+        FieldCounters count = counters.computeIfAbsent(field, key -> new FieldCounters());
+        count.lookups.incrementAndGet();
+        if (widened) {
+            count.widened.incrementAndGet();
+        }
+    }
+
+    // Offset where the first quoted or forwarded message starts after some text of our own,
+    // or where the scan limit was reached
+    static int newestSegmentEnd(String body, int scanLimit) {
+        boolean hasText = false;
+        int lineStart = 0;
+        while (lineStart < body.length()) {
+            if (lineStart >= scanLimit) {
+                return lineStart;
+            }
+            int lineEnd = body.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = body.length();
+            }
+            String line = body.substring(lineStart, lineEnd);
+            if (QUOTED_MESSAGE_START.matcher(line).matches()) {
+                if (hasText) {
+                    return lineStart;
+                }
+            } else if (!line.isBlank()) {
+                hasText = true;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return body.length();
+    }
+
+    private static int countTokens(CharSequence text) {
+        return text != null ? TokenizedContent.of(text).tokenCount() : 0;
+    }
+
+    private static final class FieldCounters {
+        private final AtomicLong lookups = new AtomicLong();
+        private final AtomicLong widened = new AtomicLong();
+    }
+}
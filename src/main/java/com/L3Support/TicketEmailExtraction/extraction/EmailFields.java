@@ -0,0 +1,528 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.L3Support.TicketEmailExtraction.enums.Project;
+import com.L3Support.TicketEmailExtraction.model.BugType;
+import com.L3Support.TicketEmailExtraction.model.Contributor;
+import com.L3Support.TicketEmailExtraction.model.Priority;
+import com.L3Support.TicketEmailExtraction.utils.DateRecognizer;
+import com.L3Support.TicketEmailExtraction.utils.HeaderIndex;
+import com.L3Support.TicketEmailExtraction.utils.ProjectDetector;
+import com.L3Support.TicketEmailExtraction.utils.TokenizedContent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keys shared by the parser profiles, and the extractors that need no services. Where the
+ * profiles produce different output for a field, each variant is its own extractor for the
+ * key and every profile registers the one it has always used. Classifiers that need
+ * configuration, and contributor lookup, live in {@link FieldExtractorRegistry}.
+ */
+@Slf4j
+public final class EmailFields {
+
+    // The email text handed to the engine; always available, never registered
+    public static final ExtractionKey<String> CONTENT = ExtractionKey.of("content");
+
+    // Intermediate artifacts
+    public static final ExtractionKey<HeaderIndex> HEADERS = ExtractionKey.of("headers");
+    public static final ExtractionKey<String> BODY = ExtractionKey.of("body");
+    public static final ExtractionKey<TokenizedContent> TOKENS = ExtractionKey.of("tokens");
+    public static final ExtractionKey<ClassificationWindow> CLASSIFICATION_WINDOW = ExtractionKey.of("classificationWindow");
+    public static final ExtractionKey<List<Contributor>> CONTRIBUTORS = ExtractionKey.of("contributors");
+
+    // Header fields
+    public static final ExtractionKey<String> SUBJECT = ExtractionKey.of("subject");
+    public static final ExtractionKey<String> FROM_EMAIL = ExtractionKey.of("fromEmail");
+    public static final ExtractionKey<String> TO_EMAILS = ExtractionKey.of("toEmails");
+    public static final ExtractionKey<LocalDate> SENT_DATE = ExtractionKey.of("sentDate");
+
+    // Ticket fields
+    public static final ExtractionKey<String> SUMMARY = ExtractionKey.of("summary");
+    public static final ExtractionKey<String> DESCRIPTION = ExtractionKey.of("description");
+    public static final ExtractionKey<Project> PROJECT = ExtractionKey.of("project");
+    public static final ExtractionKey<Priority> PRIORITY = ExtractionKey.of("priority");
+    public static final ExtractionKey<BugType> BUG_TYPE = ExtractionKey.of("bugType");
+    public static final ExtractionKey<String> IMPACT = ExtractionKey.of("impact");
+    public static final ExtractionKey<Contributor> CONTRIBUTOR = ExtractionKey.of("contributor");
+    public static final ExtractionKey<String> CONTRIBUTOR_NAME = ExtractionKey.of("contributorName");
+    public static final ExtractionKey<String> TICKET_OWNER = ExtractionKey.of("ticketOwner");
+    public static final ExtractionKey<String> EMPLOYEE_ID = ExtractionKey.of("employeeId");
+    public static final ExtractionKey<String> EMPLOYEE_NAME = ExtractionKey.of("employeeName");
+    public static final ExtractionKey<String> CONTACT = ExtractionKey.of("contact");
+
+    static final Pattern EMAIL_PATTERN = Pattern.compile("([a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,})");
+    private static final Pattern ADDRESS_PATTERN = Pattern.compile("([\\w._%+-]+@[\\w.-]+\\.[A-Za-z]{2,})");
+
+    private static final Pattern HEADER_LINE_PATTERN = Pattern.compile("From:|To:|Cc:|Sent on:|Subject:|Date:");
+    private static final Pattern REPLY_PREFIX = Pattern.compile("^(Re:|Fw:|Fwd:)\\s*");
+
+    // Where the body of a pasted email starts, tried in order
+    private static final Pattern[] BODY_START_PATTERNS = {
+        Pattern.compile("(?i)\\n\\n", Pattern.DOTALL), // Double newline after headers
+        Pattern.compile("(?i)\\nDate:.*?\\n\\n", Pattern.DOTALL), // After date header
+        Pattern.compile("(?i)\\nContent-Type:.*?\\n\\n", Pattern.DOTALL), // After content type
+        Pattern.compile("(?i)\\nMIME-Version:.*?\\n\\n", Pattern.DOTALL) // After MIME version
+    };
+
+    // Greetings, sign-offs and quoted header lines carry nothing for the description
+    private static final Pattern NOISE_LINE = Pattern.compile(
+        "^(\\+{5,}|Dear\\s+\\w+|Greetings of the day!|Thanks and Regards,|Thanks & Regards,|Regards,"
+            + "|From:|To:|Sent:|Subject:|Cc:).*");
+
+    private static final Pattern EMPLOYEE_ID_PATTERN = Pattern.compile("(?:Employee ID|EMP|ID)\\s*:?\\s*([A-Z0-9]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMERIC_EMPLOYEE_ID_PATTERN = Pattern.compile("\\b(\\d{6,8})\\b");
+    private static final Pattern EMPLOYEE_NAME_PATTERN = Pattern.compile("Employee Name\\s*:?\\s*([A-Za-z\\s]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern PHONE_PATTERN = Pattern.compile("(\\d{5}\\s+\\d{6}|\\d{10}|\\+\\d{1,3}\\s?\\d{10})");
+
+    private static final int MAX_DESCRIPTION_LENGTH = 1900;
+    private static final int MAX_IMPACT_LENGTH = 500;
+    private static final String NO_IMPACT = "No impact information available";
+
+    // Private constructor to prevent instantiation
+    private EmailFields() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Header fields indexed once; every header extractor only looks values up
+     */
+    public static FieldExtractor<HeaderIndex> headers() {
+        return FieldExtractor.of(HEADERS, List.of(CONTENT), context -> HeaderIndex.of(context.content()));
+    }
+
+    public static FieldExtractor<String> subject() {
+        return FieldExtractor.of(SUBJECT, List.of(HEADERS), context -> {
+            String subject = context.get(HEADERS).first("subject");
+            return subject != null ? subject : "No Subject";
+        });
+    }
+
+    public static FieldExtractor<String> toEmails() {
+        return FieldExtractor.of(TO_EMAILS, List.of(HEADERS), context -> context.get(HEADERS).first("to"));
+    }
+
+    /**
+     * Sender address: the part in angle brackets ("Name &lt;address&gt;"), else an address at
+     * the start of the field, else null
+     */
+    public static FieldExtractor<String> fromEmail() {
+        return FieldExtractor.of(FROM_EMAIL, List.of(HEADERS), context -> {
+            String from = context.get(HEADERS).first("from");
+            if (from == null) {
+                return null;
+            }
+            int open = from.indexOf('<');
+            int close = from.indexOf('>', open + 1);
+            if (open >= 0 && close > open) {
+                return from.substring(open + 1, close).trim();
+            }
+            Matcher matcher = ADDRESS_PATTERN.matcher(from);
+            return matcher.lookingAt() ? matcher.group(1).trim() : null;
+        });
+    }
+
+    /**
+     * Sender address: the first address in the field, else the From line as written
+     */
+    public static FieldExtractor<String> fromEmailOrLine() {
+        return FieldExtractor.of(FROM_EMAIL, List.of(HEADERS), context -> {
+            String fromLine = context.get(HEADERS).first("from");
+            if (fromLine == null) {
+                return null;
+            }
+            Matcher emailMatcher = EMAIL_PATTERN.matcher(fromLine);
+            return emailMatcher.find() ? emailMatcher.group(1) : fromLine;
+        });
+    }
+
+    /**
+     * Date the email was sent, from the first of the given headers that is present; today if
+     * there is none or it cannot be recognized
+     */
+    public static FieldExtractor<LocalDate> sentDate(String... headerNames) {
+        return FieldExtractor.of(SENT_DATE, List.of(HEADERS), context -> {
+            String dateString = context.get(HEADERS).first(headerNames);
+            if (dateString == null) {
+                log.warn("⚠️ No date found in email headers, using today's date");
+                return LocalDate.now();
+            }
+            // Shape is classified first, then a single cached formatter runs on the date part
+            Optional<LocalDate> parsedDate = DateRecognizer.recognize(dateString);
+            if (parsedDate.isEmpty()) {
+                log.warn("⚠️ Failed to parse date string: '{}', using today's date", dateString);
+            }
+            return parsedDate.orElseGet(LocalDate::now);
+        });
+    }
+
+    /**
+     * The message text with header lines left out, up to the confidentiality notice or signature
+     */
+    public static FieldExtractor<String> bodyBeforeSignature() {
+        return FieldExtractor.of(BODY, List.of(CONTENT), context -> {
+            StringBuilder body = new StringBuilder();
+            boolean inBody = false;
+            for (String line : context.content().split("\\n")) {
+                String trimmedLine = line.trim();
+                if (HEADER_LINE_PATTERN.matcher(trimmedLine).lookingAt()) {
+                    continue;
+                }
+                // Skip empty lines at the beginning
+                if (!inBody && trimmedLine.isEmpty()) {
+                    continue;
+                }
+                inBody = true;
+                // Stop at confidentiality notice or final signature
+                if (trimmedLine.contains("Confidentiality Notice:")
+                        || (trimmedLine.contains("Thanks & Regards") && !trimmedLine.contains("As per"))
+                        || (trimmedLine.contains("Regards,") && !trimmedLine.contains("Thanks"))) {
+                    break;
+                }
+                body.append(line).append('\n');
+            }
+            return body.toString().trim();
+        });
+    }
+
+    /**
+     * Everything after the first blank line; without one, the lines that are not From, To,
+     * Subject or Date headers
+     */
+    public static FieldExtractor<String> bodyAfterBlankLine() {
+        return FieldExtractor.of(BODY, List.of(CONTENT), context -> {
+            String content = context.content();
+            for (Pattern pattern : BODY_START_PATTERNS) {
+                Matcher matcher = pattern.matcher(content);
+                if (matcher.find()) {
+                    return content.substring(matcher.end()).trim();
+                }
+            }
+
+            StringBuilder body = new StringBuilder();
+            boolean foundEmptyLine = false;
+            for (String line : content.split("\\n")) {
+                String lowerLine = line.toLowerCase();
+                if (foundEmptyLine || line.trim().isEmpty()) {
+                    if (line.trim().isEmpty()) {
+                        foundEmptyLine = true;
+                    } else {
+                        body.append(line).append('\n');
+                    }
+                } else if (!line.contains(":") || (!lowerLine.startsWith("from:") && !lowerLine.startsWith("to:")
+                        && !lowerLine.startsWith("subject:") && !lowerLine.startsWith("date:"))) {
+                    body.append(line).append('\n');
+                }
+            }
+            return body.toString().trim();
+        });
+    }
+
+    /**
+     * The whole email lower-cased and tokenized once, for keyword checks that look past the body
+     */
+    public static FieldExtractor<TokenizedContent> contentTokens() {
+        return FieldExtractor.of(TOKENS, List.of(CONTENT), context -> TokenizedContent.of(context.content()));
+    }
+
+    /**
+     * Subject without a leading Re:/Fw:/Fwd:, cut to maxLength
+     */
+    public static FieldExtractor<String> cleanedSubject(int maxLength) {
+        return FieldExtractor.of(SUMMARY, List.of(SUBJECT), context -> {
+            String cleaned = REPLY_PREFIX.matcher(context.get(SUBJECT)).replaceFirst("").trim();
+            return cleaned.length() > maxLength ? cleaned.substring(0, maxLength) + "..." : cleaned;
+        });
+    }
+
+    /**
+     * The subject, or the first body line if there is no subject, cut to maxLength
+     */
+    public static FieldExtractor<String> title(int maxLength) {
+        return FieldExtractor.of(SUMMARY, List.of(SUBJECT, BODY), context -> {
+            String subject = context.get(SUBJECT);
+            String body = context.get(BODY);
+            String title;
+            if (!"No Subject".equals(subject)) {
+                title = subject;
+            } else if (!body.isEmpty()) {
+                title = body.split("\\n")[0].trim();
+            } else {
+                return "Ticket from Email";
+            }
+            return title.length() > maxLength ? title.substring(0, maxLength) + "..." : title;
+        });
+    }
+
+    /**
+     * The body on one line: greetings, sign-offs and quoted header lines left out, whitespace
+     * collapsed, cut to fit the issue_description column
+     */
+    public static FieldExtractor<String> cleanedDescription() {
+        return FieldExtractor.of(DESCRIPTION, List.of(BODY), context -> {
+            StringBuilder description = new StringBuilder();
+            for (String line : context.get(BODY).split("\\n")) {
+                String trimmedLine = line.trim();
+                if (trimmedLine.isEmpty() || NOISE_LINE.matcher(trimmedLine).matches()) {
+                    continue;
+                }
+                description.append(trimmedLine).append(' ');
+            }
+
+            String cleaned = description.toString().replaceAll("\\s+", " ").trim();
+            if (cleaned.length() > MAX_DESCRIPTION_LENGTH) {
+                cleaned = cleaned.substring(0, MAX_DESCRIPTION_LENGTH) + "...";
+            }
+            return cleaned.isEmpty() ? "No description provided" : cleaned;
+        });
+    }
+
+    /**
+     * Subject and full body under "Subject:" / "Description:" labels, for review before saving
+     */
+    public static FieldExtractor<String> labelledDescription() {
+        return FieldExtractor.of(DESCRIPTION, List.of(SUBJECT, BODY), context -> {
+            String subject = context.get(SUBJECT);
+            String body = context.get(BODY);
+            StringBuilder description = new StringBuilder();
+            if (!"No Subject".equals(subject)) {
+                description.append("Subject: ").append(subject).append("\n\n");
+            }
+            if (!body.isEmpty()) {
+                description.append("Description:\n").append(body);
+            }
+            return description.length() > 0 ? description.toString() : "No description available";
+        });
+    }
+
+    /**
+     * Project named exactly (or by alias) in the classification window; GENERAL otherwise
+     */
+    public static FieldExtractor<Project> namedProject() {
+        return FieldExtractor.of(PROJECT, List.of(CLASSIFICATION_WINDOW), context -> {
+            Optional<ProjectDetector.Detection> detection =
+                context.get(CLASSIFICATION_WINDOW).classify("project", ProjectDetector::detect);
+            if (detection.isPresent()) {
+                log.info("🎯 Project found by name match '{}': {}", detection.get().matchedName(), detection.get().project());
+                return detection.get().project();
+            }
+            log.info("🎯 No specific project found, using default: GENERAL");
+            return Project.GENERAL;
+        });
+    }
+
+    /**
+     * Plain keyword checks: urgent wording, then moderate, then low, then a bare "priority".
+     * MODERATE by default
+     */
+    public static FieldExtractor<Priority> keywordPriority() {
+        return FieldExtractor.of(PRIORITY, List.of(CLASSIFICATION_WINDOW), context ->
+            context.get(CLASSIFICATION_WINDOW).classify("priority", content -> {
+                if (content.contains("urgent") || content.contains("critical")
+                        || content.contains("high priority") || content.contains("asap")) {
+                    return Optional.of(Priority.HIGH);
+                }
+                if (content.contains("moderate") || content.contains("medium")) {
+                    return Optional.of(Priority.MODERATE);
+                }
+                if (content.contains("low priority") || content.contains("low")) {
+                    return Optional.of(Priority.LOW);
+                }
+                if (content.contains("priority")) {
+                    return Optional.of(Priority.PRIORITY);
+                }
+                return Optional.<Priority>empty();
+            }).orElse(Priority.MODERATE));
+    }
+
+    /**
+     * Plain keyword checks: feature or change wording is an enhancement, then error wording
+     * is a bug. BUG by default
+     */
+    public static FieldExtractor<BugType> keywordBugType() {
+        return FieldExtractor.of(BUG_TYPE, List.of(CLASSIFICATION_WINDOW), context ->
+            context.get(CLASSIFICATION_WINDOW).classify("bugType", content -> {
+                if (content.contains("enhancement") || content.contains("feature")
+                        || content.contains("improvement") || content.contains("add")
+                        || content.contains("new") || content.contains("change")) {
+                    return Optional.of(BugType.ENHANCEMENT);
+                }
+                if (content.contains("bug") || content.contains("error")
+                        || content.contains("issue") || content.contains("problem")
+                        || content.contains("not working") || content.contains("failed")) {
+                    return Optional.of(BugType.BUG);
+                }
+                return Optional.<BugType>empty();
+            }).orElse(BugType.BUG));
+    }
+
+    /**
+     * Which user roles the email mentions anywhere; "Impact not specified" if none
+     */
+    public static FieldExtractor<String> roleImpact() {
+        return FieldExtractor.of(IMPACT, List.of(TOKENS), context -> {
+            TokenizedContent content = context.get(TOKENS);
+            if (content.contains("all users")) {
+                return "All users affected";
+            }
+            if (content.contains("admin")) {
+                return "Admin users affected";
+            }
+            if (content.contains("employee")) {
+                return "Employee users affected";
+            }
+            return "Impact not specified";
+        });
+    }
+
+    /**
+     * The middle half of the body's sentences (the second of two), or of its characters if it
+     * is one long sentence, cut to fit the impact column
+     */
+    public static FieldExtractor<String> bodyExcerptImpact() {
+        return FieldExtractor.of(IMPACT, List.of(BODY), context -> {
+            String body = context.get(BODY);
+            if (body.isEmpty()) {
+                return NO_IMPACT;
+            }
+            String[] sentences = body.split("(?<=[.!?])\\s+");
+            String impact;
+            if (sentences.length > 2) {
+                int startIndex = sentences.length / 4;
+                int endIndex = (sentences.length * 3) / 4;
+                impact = String.join(" ", List.of(sentences).subList(startIndex, endIndex));
+            } else if (sentences.length == 2) {
+                impact = sentences[1];
+            } else if (body.length() > 100) {
+                impact = body.substring(body.length() / 4, (body.length() * 3) / 4);
+            } else {
+                impact = body;
+            }
+            impact = impact.trim();
+            if (impact.length() > MAX_IMPACT_LENGTH) {
+                impact = impact.substring(0, MAX_IMPACT_LENGTH - 3) + "...";
+            }
+            return impact.isEmpty() ? NO_IMPACT : impact;
+        });
+    }
+
+    /**
+     * Sender address before the @, dots as spaces; null without a sender address
+     */
+    public static FieldExtractor<String> ticketOwner() {
+        return FieldExtractor.of(TICKET_OWNER, List.of(FROM_EMAIL), context -> {
+            String fromEmail = context.get(FROM_EMAIL);
+            if (fromEmail == null) {
+                return null;
+            }
+            String owner = ownerName(fromEmail);
+            return owner != null ? owner : fromEmail;
+        });
+    }
+
+    /**
+     * Sender address before the @, dots as spaces; "Unknown" without a sender
+     */
+    public static FieldExtractor<String> ticketOwnerOrUnknown() {
+        return FieldExtractor.of(TICKET_OWNER, List.of(FROM_EMAIL), context -> {
+            String fromEmail = context.get(FROM_EMAIL);
+            String owner = fromEmail != null ? ownerName(fromEmail) : null;
+            return owner != null ? owner : "Unknown";
+        });
+    }
+
+    /**
+     * Names of every contributor among the recipients, comma-separated; null if there is none
+     */
+    public static FieldExtractor<String> contributorNames() {
+        return FieldExtractor.of(CONTRIBUTOR_NAME, List.of(CONTRIBUTORS), context -> {
+            List<Contributor> contributors = context.get(CONTRIBUTORS);
+            return contributors.isEmpty() ? null
+                : contributors.stream().map(Contributor::getName).collect(Collectors.joining(","));
+        });
+    }
+
+    /**
+     * The contributor among the recipients if there is exactly one; with several, nobody is
+     * assigned and the user picks
+     */
+    public static FieldExtractor<Contributor> singleContributor() {
+        return FieldExtractor.of(CONTRIBUTOR, List.of(CONTRIBUTORS), context -> {
+            List<Contributor> contributors = context.get(CONTRIBUTORS);
+            if (contributors.size() > 1) {
+                log.warn("⚠️ Multiple contributors found ({}), not auto-assigning. User should select manually.",
+                    contributors.stream().map(Contributor::getName).collect(Collectors.joining(", ")));
+                return null;
+            }
+            return contributors.isEmpty() ? null : contributors.get(0);
+        });
+    }
+
+    /**
+     * "Employee ID: EMP001" style labels, else the first 6-8 digit number
+     */
+    public static FieldExtractor<String> employeeId() {
+        return FieldExtractor.of(EMPLOYEE_ID, List.of(CONTENT), context -> {
+            Matcher matcher = EMPLOYEE_ID_PATTERN.matcher(context.content());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            matcher = NUMERIC_EMPLOYEE_ID_PATTERN.matcher(context.content());
+            return matcher.find() ? matcher.group(1) : null;
+        });
+    }
+
+    /**
+     * "Employee Name: John Doe", else a name line right under a sign-off
+     */
+    public static FieldExtractor<String> employeeName() {
+        return FieldExtractor.of(EMPLOYEE_NAME, List.of(CONTENT), context -> {
+            Matcher matcher = EMPLOYEE_NAME_PATTERN.matcher(context.content());
+            if (matcher.find()) {
+                return matcher.group(1).trim();
+            }
+            String[] lines = context.content().split("\\n");
+            List<String> lineList = Arrays.asList(lines);
+            for (String line : lines) {
+                if (line.contains("Thanks & Regards") || line.contains("Regards,")) {
+                    // Next line might contain name; a repeated sign-off line looks under its first occurrence
+                    int index = lineList.indexOf(line);
+                    if (index + 1 < lines.length) {
+                        String nextLine = lines[index + 1].trim();
+                        if (nextLine.matches("^[A-Za-z\\s]+$") && nextLine.length() > 2 && nextLine.length() < 50) {
+                            return nextLine;
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * First phone number in the email, else the first email address
+     */
+    public static FieldExtractor<String> contact() {
+        return FieldExtractor.of(CONTACT, List.of(CONTENT), context -> {
+            Matcher phoneMatcher = PHONE_PATTERN.matcher(context.content());
+            if (phoneMatcher.find()) {
+                return phoneMatcher.group(1);
+            }
+            Matcher emailMatcher = ADDRESS_PATTERN.matcher(context.content());
+            return emailMatcher.find() ? emailMatcher.group(1) : null;
+        });
+    }
+
+    // Null if the address has nothing but @ signs
+    private static String ownerName(String fromEmail) {
+        String[] parts = fromEmail.split("@");
+        return parts.length > 0 ? parts[0].replace(".", " ").trim() : null;
+    }
+}
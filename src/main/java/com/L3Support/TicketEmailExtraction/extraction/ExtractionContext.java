@@ -0,0 +1,60 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values of one email's extraction. Each value is computed on first request and then shared,
+ * so an artifact such as the header index is built once however many extractors read it.
+ * Safe to use from several threads: a value being computed by one thread is waited for, not
+ * computed twice.
+ */
+public final class ExtractionContext {
+
+    private final ExtractionProfile profile;
+    private final String content;
+    private final ConcurrentHashMap<ExtractionKey<?>, CompletableFuture<Object>> values = new ConcurrentHashMap<>();
+
+    ExtractionContext(ExtractionProfile profile, String content) {
+        this.profile = profile;
+        this.content = content;
+    }
+
+    public String content() {
+        return content;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ExtractionKey<T> key) {
+        if (key.equals(EmailFields.CONTENT)) {
+            return (T) content;
+        }
+
+        CompletableFuture<Object> value = values.get(key);
+        if (value == null) {
+            CompletableFuture<Object> computing = new CompletableFuture<>();
+            value = values.putIfAbsent(key, computing);
+            if (value == null) {
+                // This thread won: compute inline, so waiters always wait on running work
+                try {
+                    T result = (T) profile.extractorFor(key).extract(this);
+                    computing.complete(result);
+                    return result;
+                } catch (RuntimeException e) {
+                    computing.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        try {
+            return (T) value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs every extractor of a profile over one email. Shared artifacts are computed once per
+ * email by the context; independent extractors can run concurrently when enabled. Parallel
+ * extraction is off by default because bulk ingestion already parses several files at once.
+ */
+@Component
+@Slf4j
+public class ExtractionEngine {
+
+    @Value("${app.extraction.parallel:false}")
+    private boolean parallel;
+
+    // Extraction threads (0 = one per CPU core), only used when parallel extraction is on
+    @Value("${app.extraction.threads:0}")
+    private int configuredThreads;
+
+    private ExecutorService extractionExecutor;
+
+    @PostConstruct
+    void startExtractionThreads() {
+        if (!parallel) {
+            return;
+        }
+        int threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        extractionExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "field-extractor-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("⚙️ Field extraction running in parallel on {} threads", threads);
+    }
+
+    @PreDestroy
+    void stopExtractionThreads() {
+        if (extractionExecutor != null) {
+            extractionExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Extract every field of the profile from the content; read the values from the returned context
+     */
+    public ExtractionContext extract(ExtractionProfile profile, String content) {
+        ExtractionContext context = new ExtractionContext(profile, content);
+        if (extractionExecutor == null) {
+            for (FieldExtractor<?> extractor : profile.getExtractors()) {
+                context.get(extractor.key());
+            }
+            return context;
+        }
+
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (FieldExtractor<?> extractor : profile.getExtractors()) {
+            running.add(CompletableFuture.runAsync(() -> context.get(extractor.key()), extractionExecutor));
+        }
+        try {
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return context;
+    }
+}
@@ -0,0 +1,19 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+/**
+ * Names a value produced during extraction: a final ticket field or an intermediate artifact
+ * (header index, tokens, body) that several extractors share.
+ *
+ * @param <T> type of the value
+ */
+public record ExtractionKey<T>(String name) {
+
+    public static <T> ExtractionKey<T> of(String name) {
+        return new ExtractionKey<>(name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
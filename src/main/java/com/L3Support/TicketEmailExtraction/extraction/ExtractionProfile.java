@@ -0,0 +1,85 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A named set of field extractors, one per key. Checked when built: every declared input must
+ * be produced by the profile and the inputs must not form a cycle.
+ */
+public final class ExtractionProfile {
+
+    private final String name;
+    private final Map<ExtractionKey<?>, FieldExtractor<?>> extractors;
+
+    private ExtractionProfile(String name, Map<ExtractionKey<?>, FieldExtractor<?>> extractors) {
+        this.name = name;
+        this.extractors = Collections.unmodifiableMap(extractors);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Collection<FieldExtractor<?>> getExtractors() {
+        return extractors.values();
+    }
+
+    FieldExtractor<?> extractorFor(ExtractionKey<?> key) {
+        FieldExtractor<?> extractor = extractors.get(key);
+        if (extractor == null) {
+            throw new IllegalArgumentException("Profile " + name + " has no extractor for " + key);
+        }
+        return extractor;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final Map<ExtractionKey<?>, FieldExtractor<?>> extractors = new LinkedHashMap<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder add(FieldExtractor<?> extractor) {
+            if (extractor.key().equals(EmailFields.CONTENT) || extractors.putIfAbsent(extractor.key(), extractor) != null) {
+                throw new IllegalArgumentException("Profile " + name + " already produces " + extractor.key());
+            }
+            return this;
+        }
+
+        public ExtractionProfile build() {
+            Set<ExtractionKey<?>> done = new HashSet<>();
+            for (ExtractionKey<?> key : extractors.keySet()) {
+                checkInputs(key, done, new HashSet<>());
+            }
+            return new ExtractionProfile(name, new LinkedHashMap<>(extractors));
+        }
+
+        private void checkInputs(ExtractionKey<?> key, Set<ExtractionKey<?>> done, Set<ExtractionKey<?>> path) {
+            if (key.equals(EmailFields.CONTENT) || done.contains(key)) {
+                return;
+            }
+            FieldExtractor<?> extractor = extractors.get(key);
+            if (extractor == null) {
+                throw new IllegalArgumentException("Profile " + name + " has no extractor for input " + key);
+            }
+            if (!path.add(key)) {
+                throw new IllegalArgumentException("Profile " + name + " has an input cycle through " + key);
+            }
+            for (ExtractionKey<?> input : extractor.inputs()) {
+                checkInputs(input, done, path);
+            }
+            path.remove(key);
+            done.add(key);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Produces one value of an extraction profile from the values it declares as inputs.
+ * Implementations must be stateless: the same extractor may run for several emails at once.
+ */
+public interface FieldExtractor<T> {
+
+    ExtractionKey<T> key();
+
+    /**
+     * Keys read through the context; {@link EmailFields#CONTENT} is always available
+     */
+    List<ExtractionKey<?>> inputs();
+
+    T extract(ExtractionContext context);
+
+    static <T> FieldExtractor<T> of(ExtractionKey<T> key, List<ExtractionKey<?>> inputs,
+                                    Function<ExtractionContext, T> extractor) {
+        List<ExtractionKey<?>> declaredInputs = List.copyOf(inputs);
+        return new FieldExtractor<>() {
+            @Override
+            public ExtractionKey<T> key() {
+                return key;
+            }
+
+            @Override
+            public List<ExtractionKey<?>> inputs() {
+                return declaredInputs;
+            }
+
+            @Override
+            public T extract(ExtractionContext context) {
+                return extractor.apply(context);
+            }
+        };
+    }
+}
@@ -0,0 +1,215 @@
+package com.L3Support.TicketEmailExtraction.extraction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.L3Support.TicketEmailExtraction.enums.Project;
+import com.L3Support.TicketEmailExtraction.model.BugType;
+import com.L3Support.TicketEmailExtraction.model.Contributor;
+import com.L3Support.TicketEmailExtraction.model.Priority;
+import com.L3Support.TicketEmailExtraction.service.ContributorDirectory;
+import com.L3Support.TicketEmailExtraction.utils.FuzzyDictionary;
+import com.L3Support.TicketEmailExtraction.utils.ProjectDetector;
+import com.L3Support.TicketEmailExtraction.utils.TokenizedContent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The extractors that need services or configuration: classification windows, the fuzzy
+ * keyword classifiers and contributor lookup. {@link #profile} starts a profile with the
+ * extractors whose output is the same in every profile; a parser service adds its own
+ * variant for each remaining field.
+ */
+@Component
+@Slf4j
+public class FieldExtractorRegistry {
+
+    private final ContributorDirectory contributorDirectory;
+    private final ClassificationWindows classificationWindows;
+
+    // Keyword terms with common typos, built once and shared by every parse
+    private final FuzzyDictionary<Project> projectDictionary = buildProjectDictionary();
+    private final FuzzyDictionary<Priority> priorityDictionary = new FuzzyDictionary<>(termsOf(Map.of(
+        Priority.HIGH, List.of(
+            "critical", "urgent", "high priority", "asap", "emergency", "immediate",
+            "critcal", "urgnt", "high priorit", "a s a p", "emergenc", "immedaite"),
+        Priority.LOW, List.of(
+            "low", "minor", "low priority", "not urgent", "when possible",
+            "lo", "minr", "low priorit", "not urgnt", "wen possible"),
+        Priority.MODERATE, List.of(
+            "medium", "moderate", "normal", "standard", "regular",
+            "medim", "moderat", "norml", "standar", "regulr"))));
+    private final FuzzyDictionary<BugType> bugTypeDictionary = new FuzzyDictionary<>(termsOf(Map.of(
+        BugType.ENHANCEMENT, List.of(
+            "enhancement", "feature", "improvement", "new feature", "upgrade", "optimize",
+            "enhancment", "featur", "improvment", "new featur", "upgrad", "optimiz"),
+        BugType.TASK, List.of(
+            "task", "todo", "action item", "work item", "activity", "assignment",
+            "tsk", "to do", "action itm", "work itm", "activit", "assignmnt"),
+        BugType.BUG, List.of(
+            "bug", "error", "issue", "problem", "defect", "fault", "failure",
+            "bg", "eror", "isue", "problm", "defct", "falt", "failur"))));
+
+    // Configurable fuzzy matching thresholds
+    @Value("${app.fuzzy.project.similarity.threshold:0.75}")
+    private double projectSimilarityThreshold;
+
+    @Value("${app.fuzzy.priority.similarity.threshold:0.80}")
+    private double prioritySimilarityThreshold;
+
+    public FieldExtractorRegistry(ContributorDirectory contributorDirectory, ClassificationWindows classificationWindows) {
+        this.contributorDirectory = contributorDirectory;
+        this.classificationWindows = classificationWindows;
+    }
+
+    /**
+     * A profile builder holding the headers, subject, recipients and contributors among them;
+     * add the profile's own extractors for the other fields, then build
+     */
+    public ExtractionProfile.Builder profile(String name) {
+        return ExtractionProfile.builder(name)
+            .add(EmailFields.headers())
+            .add(EmailFields.subject())
+            .add(EmailFields.toEmails())
+            .add(contributors());
+    }
+
+    /**
+     * Keywords are looked for in the subject and newest message first; subject and whole body
+     * are tokenized (once, for all keyword extractors) only if nothing is found there
+     */
+    public FieldExtractor<ClassificationWindow> classificationWindow() {
+        return FieldExtractor.of(EmailFields.CLASSIFICATION_WINDOW, List.of(EmailFields.SUBJECT, EmailFields.BODY),
+            context -> classificationWindows.open(context.get(EmailFields.SUBJECT), context.get(EmailFields.BODY),
+                () -> TokenizedContent.of(context.get(EmailFields.SUBJECT), context.get(EmailFields.BODY))));
+    }
+
+    /**
+     * Keywords are looked for in the subject and newest message first, then in the whole email
+     * as tokenized by {@link EmailFields#contentTokens}
+     */
+    public FieldExtractor<ClassificationWindow> contentClassificationWindow() {
+        return FieldExtractor.of(EmailFields.CLASSIFICATION_WINDOW, List.of(EmailFields.SUBJECT, EmailFields.BODY, EmailFields.TOKENS),
+            context -> classificationWindows.open(context.get(EmailFields.SUBJECT), context.get(EmailFields.BODY),
+                () -> context.get(EmailFields.TOKENS)));
+    }
+
+    /**
+     * Exact project names and aliases first, then their typos; GENERAL if neither is found
+     */
+    public FieldExtractor<Project> project() {
+        return FieldExtractor.of(EmailFields.PROJECT, List.of(EmailFields.CLASSIFICATION_WINDOW), context ->
+            context.get(EmailFields.CLASSIFICATION_WINDOW).classify("project", this::matchProject).orElseGet(() -> {
+                log.info("🎯 No project match found above threshold {}, using GENERAL", projectSimilarityThreshold);
+                return Project.GENERAL;
+            }));
+    }
+
+    /**
+     * Priority terms and their typos: high beats low beats moderate. MODERATE by default
+     */
+    public FieldExtractor<Priority> priority() {
+        return FieldExtractor.of(EmailFields.PRIORITY, List.of(EmailFields.CLASSIFICATION_WINDOW), context ->
+            context.get(EmailFields.CLASSIFICATION_WINDOW).classify("priority", content -> firstMatch(
+                priorityDictionary.lookup(content, prioritySimilarityThreshold),
+                List.of(Priority.HIGH, Priority.LOW, Priority.MODERATE))).orElse(Priority.MODERATE));
+    }
+
+    /**
+     * Bug type terms and their typos: enhancement beats task beats bug. BUG by default
+     */
+    public FieldExtractor<BugType> bugType() {
+        return FieldExtractor.of(EmailFields.BUG_TYPE, List.of(EmailFields.CLASSIFICATION_WINDOW), context ->
+            context.get(EmailFields.CLASSIFICATION_WINDOW).classify("bugType", content -> firstMatch(
+                bugTypeDictionary.lookup(content, prioritySimilarityThreshold),
+                List.of(BugType.ENHANCEMENT, BugType.TASK, BugType.BUG))).orElse(BugType.BUG));
+    }
+
+    /**
+     * Active contributors among the To recipients, from the in-memory directory (no queries)
+     */
+    public FieldExtractor<List<Contributor>> contributors() {
+        return FieldExtractor.of(EmailFields.CONTRIBUTORS, List.of(EmailFields.TO_EMAILS), context -> {
+            String toEmails = context.get(EmailFields.TO_EMAILS);
+            if (toEmails == null) {
+                return List.of();
+            }
+            Matcher emailMatcher = EmailFields.EMAIL_PATTERN.matcher(toEmails.toLowerCase());
+            List<String> emailsInTo = new ArrayList<>();
+            while (emailMatcher.find()) {
+                emailsInTo.add(emailMatcher.group(1));
+            }
+
+            List<Contributor> found = contributorDirectory.findByRecipients(emailsInTo);
+            if (found.isEmpty()) {
+                log.warn("⚠️ No contributor found in database for emails: {}", emailsInTo);
+            } else {
+                log.info("📋 Contributors found for {}: {}", emailsInTo, found.size());
+            }
+            return found;
+        });
+    }
+
+    private Optional<Project> matchProject(TokenizedContent content) {
+        // Exact names and aliases first, all found in one pass
+        Optional<ProjectDetector.Detection> detection = ProjectDetector.detect(content);
+        if (detection.isPresent()) {
+            log.info("✅ Project found by name match: {} matched term: '{}'",
+                    detection.get().project().getDisplayName(), detection.get().matchedName());
+            return Optional.of(detection.get().project());
+        }
+
+        // Then typos: each word or phrase of the content is looked up once in the fuzzy dictionary
+        FuzzyDictionary.Match<Project> bestMatch = null;
+        for (FuzzyDictionary.Match<Project> match : projectDictionary.lookup(content, projectSimilarityThreshold).values()) {
+            // Highest similarity wins; ties go to the project declared first
+            if (bestMatch == null || match.similarity() > bestMatch.similarity()
+                    || (match.similarity() == bestMatch.similarity() && match.value().ordinal() < bestMatch.value().ordinal())) {
+                bestMatch = match;
+            }
+        }
+
+        if (bestMatch != null) {
+            log.info("✅ Best project match: {} (similarity: {}) matched term: '{}'",
+                    bestMatch.value().getDisplayName(), String.format("%.2f", bestMatch.similarity()), bestMatch.term());
+            return Optional.of(bestMatch.value());
+        }
+        return Optional.empty();
+    }
+
+    // The first value in order of precedence that any matched term stands for
+    private static <T> Optional<T> firstMatch(Map<String, FuzzyDictionary.Match<T>> matches, List<T> precedence) {
+        for (T value : precedence) {
+            for (FuzzyDictionary.Match<T> match : matches.values()) {
+                if (match.value() == value) {
+                    log.debug("✅ Found {} match for term: '{}'", value, match.term());
+                    return Optional.of(value);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static FuzzyDictionary<Project> buildProjectDictionary() {
+        Map<String, Project> terms = new LinkedHashMap<>();
+        for (Project project : Project.values()) {
+            if (project != Project.GENERAL) {
+                project.getNames().forEach(name -> terms.putIfAbsent(name, project));
+            }
+        }
+        return new FuzzyDictionary<>(terms);
+    }
+
+    private static <T> Map<String, T> termsOf(Map<T, List<String>> termsByValue) {
+        Map<String, T> terms = new LinkedHashMap<>();
+        termsByValue.forEach((value, list) -> list.forEach(term -> terms.putIfAbsent(term, value)));
+        return terms;
+    }
+}
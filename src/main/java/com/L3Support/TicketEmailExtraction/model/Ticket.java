@@ -12,8 +12,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,15 +26,27 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.L3Support.TicketEmailExtraction.converter.ProjectConverter;
 import com.L3Support.TicketEmailExtraction.enums.Project;
 
+// Listing filters; each index ends with the id so a filtered page is a range scan in id order
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_ticket_status_id", columnList = "status, id"),
+    @Index(name = "idx_ticket_priority_id", columnList = "priority, id"),
+    @Index(name = "idx_ticket_project_id", columnList = "project, id"),
+    @Index(name = "idx_ticket_bug_type_id", columnList = "bug_type, id"),
+    @Index(name = "idx_ticket_received_date", columnList = "received_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Ticket {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = Ticket.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(length = 500)
@@ -66,8 +81,9 @@ public class Ticket {
     @Column(length = 500)
     private String contributorName;
 
-    // Multiple contributors stored as comma-separated contributor IDs
-    @Column(length = 1000)
+    // Transient field to accept comma-separated contributor IDs from frontend; multiple
+    // contributors are stored in ticket_contributor (see TicketContributor)
+    @jakarta.persistence.Transient
     private String contributorIds;
 
     // Transient field to accept list of contributor IDs from frontend
@@ -99,4 +115,8 @@ public class Ticket {
 
     @Column(unique = true)
     private String messageId;
+
+    // SHA-256 of the normalized email content, catches the same email saved under another name
+    @Column(length = 64, unique = true)
+    private String contentHash;
 }
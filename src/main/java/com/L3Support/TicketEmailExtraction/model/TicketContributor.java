@@ -0,0 +1,53 @@
+package com.L3Support.TicketEmailExtraction.model;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One contributor assigned to one ticket. Replaces the comma-separated Ticket.contributorIds
+ * column: the unique key leads with ticket_id for "contributors of a ticket" and the separate
+ * contributor_id index serves "tickets of a contributor". Rows go away with their ticket or
+ * contributor (ON DELETE CASCADE); ids increase in assignment order.
+ */
+@Entity
+@Table(name = "ticket_contributor",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ticket_contributor", columnNames = {"ticket_id", "contributor_id"}),
+        indexes = @Index(name = "idx_ticket_contributor_contributor", columnList = "contributor_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketContributor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "ticket_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Ticket ticket;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "contributor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Contributor contributor;
+}
@@ -0,0 +1,65 @@
+package com.L3Support.TicketEmailExtraction.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One ticket in an export: all its own columns plus the IDs of its contributors. Written as a
+ * JSON object per line, or as a CSV record with the columns in {@link #CSV_COLUMNS} order.
+ */
+public record TicketExportRow(
+        Long id,
+        String ticketSummary,
+        String project,
+        String issueDescription,
+        LocalDate receivedDate,
+        Priority priority,
+        String ticketOwner,
+        String contributorName,
+        List<Long> contributorIds,
+        BugType bugType,
+        Status status,
+        String review,
+        String impact,
+        String contact,
+        String employeeId,
+        String employeeName,
+        String messageId) {
+
+    public static final List<String> CSV_COLUMNS = List.of(
+            "id", "ticketSummary", "project", "issueDescription", "receivedDate", "priority", "ticketOwner",
+            "contributorName", "contributorIds", "bugType", "status", "review", "impact", "contact",
+            "employeeId", "employeeName", "messageId");
+
+    public static TicketExportRow of(Ticket ticket, List<Long> contributorIds) {
+        return new TicketExportRow(
+                ticket.getId(),
+                ticket.getTicketSummary(),
+                ticket.getProject() != null ? ticket.getProject().getDisplayName() : null,
+                ticket.getIssueDescription(),
+                ticket.getReceivedDate(),
+                ticket.getPriority(),
+                ticket.getTicketOwner(),
+                ticket.getContributorName(),
+                contributorIds,
+                ticket.getBugType(),
+                ticket.getStatus(),
+                ticket.getReview(),
+                ticket.getImpact(),
+                ticket.getContact(),
+                ticket.getEmployeeId(),
+                ticket.getEmployeeName(),
+                ticket.getMessageId());
+    }
+
+    /**
+     * The values in {@link #CSV_COLUMNS} order; contributor IDs comma-separated
+     */
+    public List<Object> csvValues() {
+        String ids = contributorIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return Arrays.asList(id, ticketSummary, project, issueDescription, receivedDate, priority, ticketOwner,
+                contributorName, ids, bugType, status, review, impact, contact, employeeId, employeeName, messageId);
+    }
+}
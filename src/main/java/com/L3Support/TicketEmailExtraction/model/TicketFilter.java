@@ -0,0 +1,30 @@
+package com.L3Support.TicketEmailExtraction.model;
+
+import java.time.LocalDate;
+
+import com.L3Support.TicketEmailExtraction.enums.Project;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Criteria for ticket listings; null fields are not filtered on. A contributor matches both the
+ * legacy single contributor and the contributors in ticket_contributor. The received-date range
+ * is inclusive on both ends.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketFilter {
+
+    private Status status;
+    private Priority priority;
+    private Project project;
+    private Long contributorId;
+    private BugType bugType;
+    private LocalDate receivedFrom;
+    private LocalDate receivedTo;
+}
@@ -0,0 +1,79 @@
+package com.L3Support.TicketEmailExtraction.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A ticket in a listing: the fields of {@link TicketResponse} without issueDescription, review
+ * and impact, which come with GET /api/tickets/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketListResponse {
+
+    private Long id;
+    private String ticketSummary;
+    private String project;
+    private LocalDate receivedDate;
+    private Priority priority;
+    private String ticketOwner;
+    // Legacy single contributor support (backward compatibility)
+    private ContributorResponse contributor;
+    private Long contributorId;
+    private String contributorName;
+
+    // Multiple contributors support
+    private List<ContributorResponse> contributors;
+    private String contributorNames; // Comma-separated names for easy display
+    private List<Long> contributorIds; // List of contributor IDs
+    private Integer contributorCount; // Count of contributors for quick reference
+
+    private BugType bugType;
+    private Status status;
+    private String contact;
+    private String employeeId;
+    private String employeeName;
+    private String messageId;
+
+    /**
+     * @param legacyContributor the contributor with the view's contributorId, if any
+     * @param contributors the ticket's multiple contributors, in assignment order
+     */
+    public static TicketListResponse fromView(TicketListView view, Contributor legacyContributor, List<Contributor> contributors) {
+        return TicketListResponse.builder()
+                .id(view.id())
+                .ticketSummary(view.ticketSummary())
+                .project(view.project() != null ? view.project().getDisplayName() : null)
+                .receivedDate(view.receivedDate())
+                .priority(view.priority())
+                .ticketOwner(view.ticketOwner())
+                .contributor(legacyContributor != null ? ContributorResponse.fromEntity(legacyContributor) : null)
+                .contributorId(view.contributorId())
+                .contributorName(view.contributorName())
+                .contributors(contributors.stream()
+                        .map(ContributorResponse::fromEntity)
+                        .collect(Collectors.toList()))
+                .contributorNames(contributors.isEmpty() ? null : contributors.stream()
+                        .map(Contributor::getName)
+                        .collect(Collectors.joining(", ")))
+                .contributorIds(contributors.stream()
+                        .map(Contributor::getId)
+                        .collect(Collectors.toList()))
+                .contributorCount(contributors.size())
+                .bugType(view.bugType())
+                .status(view.status())
+                .contact(view.contact())
+                .employeeId(view.employeeId())
+                .employeeName(view.employeeName())
+                .messageId(view.messageId())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.L3Support.TicketEmailExtraction.model;
+
+import java.time.LocalDate;
+
+import com.L3Support.TicketEmailExtraction.enums.Project;
+
+/**
+ * The columns of a ticket shown in listings, selected directly by the listing query. The long
+ * texts (issue description, review, impact) are left to the detail endpoint, and the legacy
+ * contributor is only its id.
+ */
+public record TicketListView(
+        Long id,
+        String ticketSummary,
+        Project project,
+        LocalDate receivedDate,
+        Priority priority,
+        String ticketOwner,
+        Long contributorId,
+        String contributorName,
+        BugType bugType,
+        Status status,
+        String contact,
+        String employeeId,
+        String employeeName,
+        String messageId) {
+}
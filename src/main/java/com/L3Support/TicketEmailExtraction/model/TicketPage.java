@@ -0,0 +1,21 @@
+package com.L3Support.TicketEmailExtraction.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a ticket listing, newest first. nextCursor is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketPage {
+
+    private List<TicketListResponse> tickets;
+    private String nextCursor;
+}
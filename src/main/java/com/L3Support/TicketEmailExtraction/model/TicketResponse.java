@@ -51,8 +51,10 @@ public class TicketResponse {
     }
     
     public static TicketResponse fromEntity(Ticket ticket, List<Contributor> multipleContributors) {
-        // Parse multiple contributors from contributorIds field
-        List<Long> contributorIdsList = parseContributorIds(ticket.getContributorIds());
+        // IDs of the given contributors, else parsed from the (request) contributorIds field
+        List<Long> contributorIdsList = multipleContributors != null
+                ? multipleContributors.stream().map(Contributor::getId).collect(Collectors.toList())
+                : parseContributorIds(ticket.getContributorIds());
         List<ContributorResponse> contributorResponses = new ArrayList<>();
         String contributorNamesStr = null;
         
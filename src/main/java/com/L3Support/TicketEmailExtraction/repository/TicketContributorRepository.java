@@ -0,0 +1,69 @@
+package com.L3Support.TicketEmailExtraction.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.L3Support.TicketEmailExtraction.model.Contributor;
+import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.model.TicketContributor;
+
+@Repository
+public interface TicketContributorRepository extends JpaRepository<TicketContributor, Long> {
+
+    /**
+     * Contributors of a ticket in assignment order
+     */
+    @Query("SELECT tc.contributor FROM TicketContributor tc WHERE tc.ticket.id = :ticketId ORDER BY tc.id")
+    List<Contributor> findContributorsByTicketId(@Param("ticketId") Long ticketId);
+
+    /**
+     * Contributor IDs of a ticket in assignment order
+     */
+    @Query("SELECT tc.contributor.id FROM TicketContributor tc WHERE tc.ticket.id = :ticketId ORDER BY tc.id")
+    List<Long> findContributorIdsByTicketId(@Param("ticketId") Long ticketId);
+
+    /**
+     * Contributor IDs of all the given tickets in one query, in assignment order
+     */
+    @Query("SELECT tc.ticket.id AS ticketId, tc.contributor.id AS contributorId FROM TicketContributor tc "
+            + "WHERE tc.ticket.id IN :ticketIds ORDER BY tc.id")
+    List<Assignment> findAssignmentsByTicketIds(@Param("ticketIds") Collection<Long> ticketIds);
+
+    /**
+     * Tickets a contributor is assigned to, newest first
+     */
+    @Query("SELECT tc.ticket FROM TicketContributor tc WHERE tc.contributor.id = :contributorId ORDER BY tc.ticket.id DESC")
+    List<Ticket> findTicketsByContributorId(@Param("contributorId") Long contributorId);
+
+    @Query("SELECT COUNT(tc) > 0 FROM TicketContributor tc WHERE tc.ticket.id = :ticketId AND tc.contributor.id = :contributorId")
+    boolean existsByTicketIdAndContributorId(@Param("ticketId") Long ticketId, @Param("contributorId") Long contributorId);
+
+    @Query("SELECT COUNT(tc) FROM TicketContributor tc WHERE tc.ticket.id = :ticketId")
+    long countByTicketId(@Param("ticketId") Long ticketId);
+
+    @Query("SELECT COUNT(tc) FROM TicketContributor tc WHERE tc.contributor.id = :contributorId")
+    long countByContributorId(@Param("contributorId") Long contributorId);
+
+    @Modifying
+    @Query("DELETE FROM TicketContributor tc WHERE tc.ticket.id = :ticketId AND tc.contributor.id = :contributorId")
+    int deleteByTicketIdAndContributorId(@Param("ticketId") Long ticketId, @Param("contributorId") Long contributorId);
+
+    @Modifying
+    @Query("DELETE FROM TicketContributor tc WHERE tc.ticket.id = :ticketId")
+    int deleteByTicketId(@Param("ticketId") Long ticketId);
+
+    /**
+     * A ticket_contributor row as its two IDs
+     */
+    interface Assignment {
+        Long getTicketId();
+
+        Long getContributorId();
+    }
+}
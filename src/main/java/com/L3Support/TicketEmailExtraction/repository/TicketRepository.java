@@ -1,5 +1,6 @@
 package com.L3Support.TicketEmailExtraction.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,24 +9,19 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.L3Support.TicketEmailExtraction.model.Priority;
-import com.L3Support.TicketEmailExtraction.model.Status;
 import com.L3Support.TicketEmailExtraction.model.Ticket;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketRepositoryCustom {
     
     boolean existsByMessageId(String messageId);
     
-    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.contributor ORDER BY t.id DESC")
-    List<Ticket> findAllWithContributors();
+    @Query("SELECT t.messageId FROM Ticket t WHERE t.messageId IN :messageIds")
+    List<String> findExistingMessageIds(@Param("messageIds") Collection<String> messageIds);
+    
+    @Query("SELECT t.contentHash FROM Ticket t WHERE t.contentHash IS NOT NULL")
+    List<String> findAllContentHashes();
     
     @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.contributor WHERE t.id = :id")
     Optional<Ticket> findByIdWithContributor(@Param("id") Long id);
-    
-    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.contributor WHERE t.status = :status ORDER BY t.id DESC")
-    List<Ticket> findByStatusWithContributors(@Param("status") Status status);
-    
-    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.contributor WHERE t.priority = :priority ORDER BY t.id DESC")
-    List<Ticket> findByPriorityWithContributors(@Param("priority") Priority priority);
 }
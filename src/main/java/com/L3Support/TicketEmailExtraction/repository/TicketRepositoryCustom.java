@@ -0,0 +1,23 @@
+package com.L3Support.TicketEmailExtraction.repository;
+
+import java.util.List;
+
+import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.model.TicketFilter;
+import com.L3Support.TicketEmailExtraction.model.TicketListView;
+
+public interface TicketRepositoryCustom {
+
+    /**
+     * Up to limit tickets matching the filter with an id below beforeId (all if null), newest
+     * first, as list views: only the listed columns are selected and no entity is loaded
+     */
+    List<TicketListView> findPage(TicketFilter filter, Long beforeId, int limit);
+
+    /**
+     * Up to limit tickets matching the filter with an id above afterId (from the first if null),
+     * in id order and detached. Exports read consecutive chunks of these, so memory use does not
+     * grow with the result and no driver-side cursor is needed.
+     */
+    List<Ticket> findChunk(TicketFilter filter, Long afterId, int limit);
+}
@@ -0,0 +1,127 @@
+package com.L3Support.TicketEmailExtraction.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.L3Support.TicketEmailExtraction.model.Contributor;
+import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.model.TicketContributor;
+import com.L3Support.TicketEmailExtraction.model.TicketFilter;
+import com.L3Support.TicketEmailExtraction.model.TicketListView;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Ticket listing and export compiled from a {@link TicketFilter} into a single query. Pages are
+ * keyset ranges on the id (id < cursor ORDER BY id DESC), which the filter indexes on Ticket serve.
+ */
+public class TicketRepositoryImpl implements TicketRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketListView> findPage(TicketFilter filter, Long beforeId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketListView> query = cb.createQuery(TicketListView.class);
+        Root<Ticket> ticket = query.from(Ticket.class);
+        Join<Ticket, Contributor> contributor = ticket.join("contributor", JoinType.LEFT);
+
+        List<Predicate> predicates = filterPredicates(cb, query, ticket, contributor, filter);
+        if (beforeId != null) {
+            predicates.add(cb.lessThan(ticket.get("id"), beforeId));
+        }
+
+        query.select(cb.construct(TicketListView.class,
+                        ticket.get("id"),
+                        ticket.get("ticketSummary"),
+                        ticket.get("project"),
+                        ticket.get("receivedDate"),
+                        ticket.get("priority"),
+                        ticket.get("ticketOwner"),
+                        contributor.get("id"),
+                        ticket.get("contributorName"),
+                        ticket.get("bugType"),
+                        ticket.get("status"),
+                        ticket.get("contact"),
+                        ticket.get("employeeId"),
+                        ticket.get("employeeName"),
+                        ticket.get("messageId")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(ticket.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Ticket> findChunk(TicketFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Ticket> query = cb.createQuery(Ticket.class);
+        Root<Ticket> ticket = query.from(Ticket.class);
+        Join<Ticket, Contributor> contributor = ticket.join("contributor", JoinType.LEFT);
+
+        List<Predicate> predicates = filterPredicates(cb, query, ticket, contributor, filter);
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(ticket.get("id"), afterId));
+        }
+
+        query.select(ticket)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(ticket.get("id")));
+        List<Ticket> tickets = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+        // Keep the persistence context empty however many chunks are read
+        tickets.forEach(entityManager::detach);
+        return tickets;
+    }
+
+    private static List<Predicate> filterPredicates(CriteriaBuilder cb, AbstractQuery<?> query, Root<Ticket> ticket,
+                                                    Join<Ticket, Contributor> contributor, TicketFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(ticket.get("status"), filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            predicates.add(cb.equal(ticket.get("priority"), filter.getPriority()));
+        }
+        if (filter.getProject() != null) {
+            predicates.add(cb.equal(ticket.get("project"), filter.getProject()));
+        }
+        if (filter.getBugType() != null) {
+            predicates.add(cb.equal(ticket.get("bugType"), filter.getBugType()));
+        }
+        if (filter.getReceivedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(ticket.<LocalDate>get("receivedDate"), filter.getReceivedFrom()));
+        }
+        if (filter.getReceivedTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(ticket.<LocalDate>get("receivedDate"), filter.getReceivedTo()));
+        }
+        if (filter.getContributorId() != null) {
+            // Legacy single contributor, or one of the contributors in ticket_contributor
+            Subquery<Long> assigned = query.subquery(Long.class);
+            Root<TicketContributor> assignment = assigned.from(TicketContributor.class);
+            assigned.select(assignment.get("id"))
+                    .where(cb.equal(assignment.get("ticket"), ticket),
+                            cb.equal(assignment.get("contributor").get("id"), filter.getContributorId()));
+            predicates.add(cb.or(
+                    cb.equal(contributor.get("id"), filter.getContributorId()),
+                    cb.exists(assigned)));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,441 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.stream.Stream;
+import java.util.zip.ZipInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.service.IngestionProgressListener.FileOutcome;
+import com.L3Support.TicketEmailExtraction.utils.AhoCorasickMatcher;
+import com.L3Support.TicketEmailExtraction.utils.CommonConstant;
+import com.L3Support.TicketEmailExtraction.utils.EmailFingerprint;
+import com.L3Support.TicketEmailExtraction.utils.EmailTextDecoder;
+import com.L3Support.TicketEmailExtraction.utils.HeaderIndex;
+import com.L3Support.TicketEmailExtraction.utils.MboxReader;
+import com.L3Support.TicketEmailExtraction.utils.MimeTextExtractor;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ingests mbox files and zip archives of emails without extracting them: messages are
+ * streamed one bounded slice at a time, deduplicated by content fingerprint and committed
+ * in batches. After every commit the archive's position is checkpointed, so an interrupted
+ * archive resumes where it stopped instead of starting over. The checkpoint never moves past
+ * a message that failed to parse or save, so those are read again when the archive is retried.
+ * Checkpoints are keyed on the archive's content, so a retry resumes whatever the file is called.
+ * Each message's outcome goes to the listener as it is known, with how far into the archive the
+ * reader is, so progress and rate are reported per message rather than per archive.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveIngestionService {
+
+    // Length of the ticket.message_id column
+    private static final int MAX_MESSAGE_ID_LENGTH = 255;
+
+    // Bytes hashed into an archive's checkpoint key
+    private static final int CHECKPOINT_KEY_BYTES = 64 * 1024;
+
+    private final TicketParserService ticketParserService;
+    private final TicketBatchWriter ticketBatchWriter;
+    private final EmailFingerprintIndex fingerprintIndex;
+
+    private final AhoCorasickMatcher projectMatcher = new AhoCorasickMatcher(CommonConstant.L3_ALLOWED_PROJECTS, false);
+
+    // Longer messages are cut to this many bytes before decoding and parsing
+    @Value("${app.archive.max.message.bytes:1048576}")
+    private int maxMessageBytes;
+
+    @Value("${app.archive.checkpoint.folder:./emails/archive-checkpoints}")
+    private String checkpointFolderPath;
+
+    @Value("${app.archive.checkpoint.retention.days:30}")
+    private int checkpointRetentionDays;
+
+    @Value("${app.ingestion.batch.size:50}")
+    private int batchSize;
+
+    /**
+     * Checkpoints of archives that were never retried would pile up; drop those past the retention
+     */
+    @PostConstruct
+    void pruneCheckpoints() {
+        Path checkpointFolder = Paths.get(checkpointFolderPath);
+        if (!Files.isDirectory(checkpointFolder)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(Duration.ofDays(checkpointRetentionDays)));
+        try (Stream<Path> checkpoints = Files.list(checkpointFolder)) {
+            for (Path checkpoint : (Iterable<Path>) checkpoints::iterator) {
+                if (Files.getLastModifiedTime(checkpoint).compareTo(cutoff) < 0) {
+                    Files.deleteIfExists(checkpoint);
+                    log.info("🧹 Removed stale archive checkpoint {}", checkpoint.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not prune archive checkpoints: {}", e.getMessage());
+        }
+    }
+
+    public static boolean isArchiveFile(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase();
+        return fileName.endsWith(".mbox") || fileName.endsWith(".zip");
+    }
+
+    /**
+     * Ingest every message of the archive. The result says whether the archive was read to the
+     * end and how many messages failed; if it was cancelled or any message failed, its checkpoint
+     * is kept for the next attempt.
+     */
+    public ArchiveResult ingest(Path archive, IngestionProgressListener listener) throws IOException {
+        long startNanos = System.nanoTime();
+        Path checkpointPath = checkpointPathOf(archive);
+        long resumeFrom = readCheckpoint(checkpointPath);
+        if (resumeFrom > 0) {
+            log.info("⏩ Resuming archive {} after message {}", archive.getFileName(), resumeFrom);
+        }
+
+        ArchiveRun run = new ArchiveRun(archive, checkpointPath, resumeFrom, listener, Files.size(archive));
+        try (InputStream input = new BufferedInputStream(new CountingInputStream(Files.newInputStream(archive), run))) {
+            if (archive.getFileName().toString().toLowerCase().endsWith(".zip")) {
+                readZip(input, run);
+            } else {
+                readMbox(input, run);
+            }
+        }
+        flush(run);
+
+        if (!run.cancelled && run.errorCount == 0) {
+            Files.deleteIfExists(checkpointPath);
+        }
+        log.info("📦 Archive {}: {} messages, {} saved, {} duplicates, {} skipped, {} errors, {} truncated in {} ms{}",
+                archive.getFileName(), run.position, run.processedCount, run.duplicateCount, run.skippedCount,
+                run.errorCount, run.truncatedCount, (System.nanoTime() - startNanos) / 1_000_000,
+                run.cancelled ? " (cancelled)" : "");
+        return new ArchiveResult(run.position, run.processedCount, run.duplicateCount, run.skippedCount,
+                run.errorCount, run.truncatedCount, !run.cancelled);
+    }
+
+    private void readMbox(InputStream input, ArchiveRun run) throws IOException {
+        MboxReader mbox = new MboxReader(input, maxMessageBytes);
+        byte[] message;
+        while (!run.cancelled && (message = mbox.nextMessage()) != null) {
+            handleMessage(run, message, mbox.isLastMessageTruncated());
+        }
+    }
+
+    private void readZip(InputStream input, ArchiveRun run) throws IOException {
+        ZipInputStream zip = new ZipInputStream(input);
+        ZipEntry entry;
+        while (!run.cancelled && (entry = zip.getNextEntry()) != null) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            Path entryName = Paths.get(entry.getName()).getFileName();
+            if (entryName.toString().toLowerCase().endsWith(".mbox")) {
+                // Not closed: that would close the whole zip stream
+                readMbox(zip, run);
+            } else if (EmailFolderIndex.isEmailFile(entryName)) {
+                readZipMessage(zip, run);
+            } else {
+                log.debug("⏭️ Ignoring archive entry {}", entry.getName());
+            }
+        }
+    }
+
+    // One email per entry: keep the first maxMessageBytes bytes, skip the rest of the entry
+    private void readZipMessage(ZipInputStream zip, ArchiveRun run) throws IOException {
+        byte[] slice = zip.readNBytes(maxMessageBytes);
+        boolean truncated = false;
+        while (zip.skip(Long.MAX_VALUE) > 0 || zip.read() >= 0) {
+            truncated = true;
+        }
+        if (slice.length > 0) {
+            handleMessage(run, slice, truncated);
+        }
+    }
+
+    private void handleMessage(ArchiveRun run, byte[] message, boolean truncated) throws IOException {
+        long ordinal = ++run.position;
+        if (ordinal <= run.resumeFrom) {
+            // Already handled before the last checkpoint
+            return;
+        }
+        if (run.listener.isCancelled()) {
+            run.position--;
+            run.cancelled = true;
+            return;
+        }
+        if (truncated) {
+            run.truncatedCount++;
+        }
+        // Decoded exactly like a loose file, so the same email fingerprints the same either way
+        String content = EmailTextDecoder.decode(message);
+        String messageIdHeader = HeaderIndex.of(content).get("message-id");
+        if (MimeTextExtractor.isMime(content)) {
+            content = MimeTextExtractor.extract(new ByteArrayInputStream(message), maxMessageBytes);
+        }
+
+        String contentHash = EmailFingerprint.of(content);
+        if (!fingerprintIndex.claim(contentHash)) {
+            run.duplicateCount++;
+            run.report(FileOutcome.DUPLICATE);
+            return;
+        }
+
+        try {
+            if (!projectMatcher.containsAny(content)) {
+                fingerprintIndex.release(contentHash);
+                run.skippedCount++;
+                run.report(FileOutcome.SKIPPED);
+                return;
+            }
+            Ticket ticket = ticketParserService.parseEmailToTicket(content);
+            if (ticket == null) {
+                fingerprintIndex.release(contentHash);
+                run.skippedCount++;
+                run.report(FileOutcome.SKIPPED);
+                return;
+            }
+            ticket.setMessageId(messageIdOf(messageIdHeader, contentHash));
+            ticket.setContentHash(contentHash);
+            run.pendingBatch.add(ticket);
+            run.pendingOrdinals.add(ordinal);
+        } catch (Exception e) {
+            log.error("❌ Error parsing message {} of {}: {}", ordinal, run.archive.getFileName(), e.getMessage());
+            fingerprintIndex.release(contentHash);
+            run.failed(ordinal);
+            run.report(FileOutcome.ERROR);
+        }
+
+        if (run.pendingBatch.size() >= batchSize) {
+            flush(run);
+        }
+    }
+
+    private void flush(ArchiveRun run) throws IOException {
+        if (!run.pendingBatch.isEmpty()) {
+            TicketBatchWriter.BatchWriteResult result = ticketBatchWriter.saveBatch(run.pendingBatch);
+            for (int i = 0; i < run.pendingBatch.size(); i++) {
+                Ticket ticket = run.pendingBatch.get(i);
+                if (result.isSaved(ticket)) {
+                    run.processedCount++;
+                    run.report(FileOutcome.PROCESSED);
+                } else {
+                    log.error("❌ Could not save {}: {}", ticket.getMessageId(), result.getFailure(ticket));
+                    fingerprintIndex.release(ticket.getContentHash());
+                    run.failed(run.pendingOrdinals.get(i));
+                    run.report(FileOutcome.ERROR);
+                }
+            }
+            run.pendingBatch.clear();
+            run.pendingOrdinals.clear();
+        }
+        long checkpoint = run.checkpointPosition();
+        if (checkpoint > run.resumeFrom) {
+            writeCheckpoint(run, checkpoint);
+        }
+    }
+
+    // The message's own identity, so archives re-exported under the same file name do not clash
+    private static String messageIdOf(String messageIdHeader, String contentHash) {
+        if (messageIdHeader != null && !messageIdHeader.isEmpty() && messageIdHeader.length() <= MAX_MESSAGE_ID_LENGTH) {
+            return messageIdHeader;
+        }
+        return contentHash;
+    }
+
+    // Keyed on the archive's size and first block, not its name: a failed archive keeps its
+    // checkpoint when it is renamed into the error folder and put back later under any name
+    private Path checkpointPathOf(Path archive) throws IOException {
+        byte[] firstBlock;
+        try (InputStream input = Files.newInputStream(archive)) {
+            firstBlock = input.readNBytes(CHECKPOINT_KEY_BYTES);
+        }
+        String key;
+        try {
+            key = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(firstBlock), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+        return Paths.get(checkpointFolderPath).resolve(Files.size(archive) + "-" + key + ".checkpoint");
+    }
+
+    private long readCheckpoint(Path checkpointPath) throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0;
+        }
+        Properties checkpoint = new Properties();
+        try (Reader reader = new StringReader(Files.readString(checkpointPath))) {
+            checkpoint.load(reader);
+        }
+        try {
+            return Long.parseLong(checkpoint.getProperty("messages", "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(ArchiveRun run, long messages) throws IOException {
+        Files.createDirectories(run.checkpointPath.getParent());
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("messages", String.valueOf(messages));
+        checkpoint.setProperty("archive", run.archive.getFileName().toString());
+
+        Path tempPath = run.checkpointPath.resolveSibling(run.checkpointPath.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tempPath)) {
+            checkpoint.store(writer, "Archive ingestion checkpoint");
+        }
+        try {
+            Files.move(tempPath, run.checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, run.checkpointPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static class ArchiveRun {
+        private final Path archive;
+        private final Path checkpointPath;
+        private final long resumeFrom;
+        private final IngestionProgressListener listener;
+        private final long size;
+        private final List<Ticket> pendingBatch = new ArrayList<>();
+        // Message number of each ticket in pendingBatch
+        private final List<Long> pendingOrdinals = new ArrayList<>();
+        // Number of messages read so far, including those skipped on resume
+        private long position;
+        // Message number of the first message that failed to parse or save, 0 if none did
+        private long firstFailure;
+        private int processedCount;
+        private int duplicateCount;
+        private int skippedCount;
+        private int errorCount;
+        private int truncatedCount;
+        private boolean cancelled;
+        // Bytes of the archive file read so far
+        private long bytesRead;
+
+        ArchiveRun(Path archive, Path checkpointPath, long resumeFrom, IngestionProgressListener listener, long size) {
+            this.archive = archive;
+            this.checkpointPath = checkpointPath;
+            this.resumeFrom = resumeFrom;
+            this.listener = listener;
+            this.size = size;
+        }
+
+        void report(FileOutcome outcome) {
+            listener.onArchiveMessageCompleted(archive, outcome, bytesRead, size);
+        }
+
+        void failed(long ordinal) {
+            errorCount++;
+            if (firstFailure == 0 || ordinal < firstFailure) {
+                firstFailure = ordinal;
+            }
+        }
+
+        // Everything up to here was either saved or needs no retry
+        long checkpointPosition() {
+            return firstFailure > 0 ? Math.min(position, firstFailure - 1) : position;
+        }
+    }
+
+    // Counts the bytes read from the archive file, for progress
+    private static class CountingInputStream extends FilterInputStream {
+        private final ArchiveRun run;
+
+        CountingInputStream(InputStream input, ArchiveRun run) {
+            super(input);
+            this.run = run;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                run.bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                run.bytesRead += count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            run.bytesRead += skipped;
+            return skipped;
+        }
+    }
+
+    public static class ArchiveResult {
+        private final long messageCount;
+        private final int processedCount;
+        private final int duplicateCount;
+        private final int skippedCount;
+        private final int errorCount;
+        private final int truncatedCount;
+        private final boolean completed;
+
+        public ArchiveResult(long messageCount, int processedCount, int duplicateCount, int skippedCount,
+                             int errorCount, int truncatedCount, boolean completed) {
+            this.messageCount = messageCount;
+            this.processedCount = processedCount;
+            this.duplicateCount = duplicateCount;
+            this.skippedCount = skippedCount;
+            this.errorCount = errorCount;
+            this.truncatedCount = truncatedCount;
+            this.completed = completed;
+        }
+
+        public long getMessageCount() { return messageCount; }
+        public int getProcessedCount() { return processedCount; }
+        public int getDuplicateCount() { return duplicateCount; }
+        public int getSkippedCount() { return skippedCount; }
+        public int getErrorCount() { return errorCount; }
+        public int getTruncatedCount() { return truncatedCount; }
+        public boolean isCompleted() { return completed; }
+        public boolean hasErrors() { return errorCount > 0; }
+
+        public String toSummary() {
+            return String.format("%d messages: %d saved, %d duplicates, %d skipped, %d errors",
+                    messageCount, processedCount, duplicateCount, skippedCount, errorCount);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+/**
+ * Published after a contributor is created, updated, (de)activated or deleted, so anything
+ * derived from the contributor list can be refreshed.
+ */
+public record ContributorChangedEvent(Long contributorId, String change) {
+}
@@ -0,0 +1,143 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.L3Support.TicketEmailExtraction.model.Contributor;
+import com.L3Support.TicketEmailExtraction.repository.ContributorRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-optimized index of the active contributors for the parsers: email -> contributor and
+ * name variant ("arun.prasad", "arunprasad") -> contributors. Loaded once, then kept current
+ * from {@link ContributorChangedEvent}s, so resolving recipients is a few hash lookups and no
+ * queries. Readers see an immutable snapshot that is swapped on every change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContributorDirectory {
+
+    private final ContributorRepository contributorRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Active contributors addressed by the given (lower-case) emails, in name order. Matched by
+     * email first; only if no email matches, by contributor names appearing as dot-separated
+     * words of an address's local part (e.g. "Manoj" in "manoj.a@hepl.com").
+     */
+    public List<Contributor> findByRecipients(Collection<String> emails) {
+        Snapshot current = snapshot();
+        Set<Contributor> found = new LinkedHashSet<>();
+        for (String email : emails) {
+            Contributor contributor = current.byEmail().get(email);
+            if (contributor != null) {
+                found.add(contributor);
+            }
+        }
+        if (found.isEmpty()) {
+            for (String email : emails) {
+                for (String variant : localPartVariants(email)) {
+                    found.addAll(current.byName().getOrDefault(variant, List.of()));
+                }
+            }
+        }
+
+        List<Contributor> ordered = new ArrayList<>(found);
+        ordered.sort(Comparator.comparingInt(contributor -> current.rank().get(contributor.getId())));
+        return ordered;
+    }
+
+    public int size() {
+        return snapshot().active().size();
+    }
+
+    // Ordered after the commit, before listeners (like the parse cache) that depend on this index
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContributorChanged(ContributorChangedEvent event) {
+        synchronized (this) {
+            if (snapshot == null) {
+                return; // Not loaded yet; the first lookup reads the current table
+            }
+            List<Contributor> active = new ArrayList<>(snapshot.active());
+            active.removeIf(contributor -> contributor.getId().equals(event.contributorId()));
+            contributorRepository.findById(event.contributorId())
+                .filter(contributor -> Boolean.TRUE.equals(contributor.getActive()))
+                .ifPresent(active::add);
+            active.sort(Comparator.comparing(Contributor::getName, String.CASE_INSENSITIVE_ORDER));
+            snapshot = Snapshot.of(active);
+        }
+        log.info("👥 Contributor directory updated ({} {}), {} active contributors", event.contributorId(), event.change(), snapshot.active().size());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = Snapshot.of(contributorRepository.findByActiveTrueOrderByNameAsc());
+                log.info("👥 Loaded {} active contributors into the contributor directory", snapshot.active().size());
+            }
+            return snapshot;
+        }
+    }
+
+    // Runs of consecutive words of the local part, joined with '.' and without separator
+    private static Set<String> localPartVariants(String email) {
+        int at = email.indexOf('@');
+        String[] words = (at >= 0 ? email.substring(0, at) : email).split("[._-]+");
+        Set<String> variants = new LinkedHashSet<>();
+        for (int first = 0; first < words.length; first++) {
+            StringBuilder dotted = new StringBuilder();
+            StringBuilder joined = new StringBuilder();
+            for (int last = first; last < words.length; last++) {
+                if (last > first) {
+                    dotted.append('.');
+                }
+                dotted.append(words[last]);
+                joined.append(words[last]);
+                variants.add(dotted.toString());
+                variants.add(joined.toString());
+            }
+        }
+        return variants;
+    }
+
+    private record Snapshot(List<Contributor> active, Map<String, Contributor> byEmail,
+                            Map<String, List<Contributor>> byName, Map<Long, Integer> rank) {
+
+        static Snapshot of(List<Contributor> active) {
+            Map<String, Contributor> byEmail = new HashMap<>();
+            Map<String, List<Contributor>> byName = new HashMap<>();
+            Map<Long, Integer> rank = new HashMap<>();
+            for (Contributor contributor : active) {
+                rank.put(contributor.getId(), rank.size());
+                if (contributor.getEmail() != null) {
+                    byEmail.putIfAbsent(contributor.getEmail().toLowerCase(Locale.ROOT), contributor);
+                }
+                String name = contributor.getName().toLowerCase(Locale.ROOT).trim();
+                for (String variant : new LinkedHashSet<>(List.of(name.replaceAll("\\s+", "."), name.replaceAll("\\s+", "")))) {
+                    byName.computeIfAbsent(variant, key -> new ArrayList<>()).add(contributor);
+                }
+            }
+            return new Snapshot(List.copyOf(active), byEmail, byName, rank);
+        }
+    }
+}
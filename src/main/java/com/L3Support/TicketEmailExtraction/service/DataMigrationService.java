@@ -1,13 +1,16 @@
 package com.L3Support.TicketEmailExtraction.service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.L3Support.TicketEmailExtraction.model.Contributor;
+import com.L3Support.TicketEmailExtraction.model.Ticket;
 import com.L3Support.TicketEmailExtraction.repository.ContributorRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -19,12 +22,15 @@ import lombok.extern.slf4j.Slf4j;
 public class DataMigrationService implements CommandLineRunner {
 
     private final ContributorRepository contributorRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
     public void run(String... args) throws Exception {
         log.info("Starting data migration for contributors...");
         initializeDefaultContributors();
+        alignTicketIdSequence();
+        migrateContributorIdsToJoinTable();
         log.info("Data migration completed successfully");
     }
 
@@ -79,4 +85,64 @@ public class DataMigrationService implements CommandLineRunner {
 
         log.info("Successfully initialized {} default contributors", defaultContributors.size());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tickets used to get IDENTITY ids; make sure the ticket_seq table starts above the
+     * highest existing id so pooled id allocation never hands out an id that is taken.
+     */
+    private void alignTicketIdSequence() {
+        try {
+            int updated = jdbcTemplate.update(
+                    "UPDATE ticket_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ? FROM ticket))",
+                    Ticket.ID_ALLOCATION_SIZE + 1);
+            if (updated == 0) {
+                jdbcTemplate.update(
+                        "INSERT INTO ticket_seq (next_val) SELECT COALESCE(MAX(id), 0) + ? FROM ticket",
+                        Ticket.ID_ALLOCATION_SIZE + 1);
+            }
+            log.info("Ticket id sequence aligned with existing tickets");
+        } catch (Exception e) {
+            log.error("Error aligning ticket id sequence", e);
+        }
+    }
+
+    /**
+     * Multiple contributors used to be kept as comma-separated IDs in ticket.contributor_ids.
+     * Copy them into ticket_contributor (skipping contributors that no longer exist) and clear
+     * the old column, so this only does work once per database.
+     */
+    private void migrateContributorIdsToJoinTable() {
+        try {
+            Integer legacyColumns = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() "
+                            + "AND table_name = 'ticket' AND column_name = 'contributor_ids'",
+                    Integer.class);
+            if (legacyColumns == null || legacyColumns == 0) {
+                return;
+            }
+
+            List<Object[]> assignments = new ArrayList<>();
+            jdbcTemplate.query(
+                    "SELECT id, contributor_ids FROM ticket WHERE contributor_ids IS NOT NULL AND contributor_ids <> '' ORDER BY id",
+                    row -> {
+                        long ticketId = row.getLong("id");
+                        for (String contributorId : row.getString("contributor_ids").split(",")) {
+                            if (contributorId.trim().matches("\\d+")) {
+                                assignments.add(new Object[] {ticketId, Long.parseLong(contributorId.trim())});
+                            }
+                        }
+                    });
+            if (assignments.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO ticket_contributor (ticket_id, contributor_id) SELECT ?, id FROM contributor WHERE id = ?",
+                    assignments);
+            int tickets = jdbcTemplate.update("UPDATE ticket SET contributor_ids = NULL WHERE contributor_ids IS NOT NULL");
+            log.info("Migrated {} contributor assignments of {} tickets to ticket_contributor", assignments.size(), tickets);
+        } catch (Exception e) {
+            log.error("Error migrating ticket contributor IDs to ticket_contributor", e);
+        }
+    }
+}
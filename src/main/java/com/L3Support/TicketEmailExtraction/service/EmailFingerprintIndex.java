@@ -0,0 +1,65 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.L3Support.TicketEmailExtraction.repository.TicketRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory set of content fingerprints of ingested (or in-flight) emails, so a duplicate
+ * is rejected right after it is read instead of after a full parse. Loaded once from the
+ * ticket.content_hash column; the unique constraint on that column stays the final guard.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailFingerprintIndex {
+
+    private final TicketRepository ticketRepository;
+
+    private final Set<String> knownHashes = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    /**
+     * Claim a fingerprint for ingestion; false if it is already ingested or being ingested
+     */
+    public boolean claim(String contentHash) {
+        ensureLoaded();
+        return knownHashes.add(contentHash);
+    }
+
+    /**
+     * Give a fingerprint back after its ticket was not (or is no longer) stored
+     */
+    public void release(String contentHash) {
+        if (contentHash != null) {
+            knownHashes.remove(contentHash);
+        }
+    }
+
+    // Only after the delete committed: on rollback the row and its unique content_hash are still there
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketDeleted(TicketDeletedEvent event) {
+        // Allow the same email to be ingested again
+        release(event.contentHash());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                knownHashes.addAll(ticketRepository.findAllContentHashes());
+                loaded = true;
+                log.info("🔑 Loaded {} email fingerprints", knownHashes.size());
+            }
+        }
+    }
+}
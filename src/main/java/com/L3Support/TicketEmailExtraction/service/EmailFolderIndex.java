@@ -0,0 +1,209 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of the email files and mbox/zip archives in the input, processed and error
+ * folders, so stats and listings don't walk the folders on every request. Kept current by the
+ * ingestion pipeline and the folder watcher; a periodic rescan corrects anything changed
+ * behind their back.
+ */
+@Service
+@Slf4j
+public class EmailFolderIndex {
+
+    public enum Folder { PENDING, PROCESSED, ERROR }
+
+    @Value("${app.email.input.folder:./emails}")
+    private String inputFolderPath;
+
+    @Value("${app.email.processed.folder:./emails/processed}")
+    private String processedFolderPath;
+
+    @Value("${app.email.error.folder:./emails/error}")
+    private String errorFolderPath;
+
+    private final Map<Folder, FolderEntries> folders = new EnumMap<>(Folder.class);
+    private volatile boolean initialized;
+
+    public EmailFolderIndex() {
+        for (Folder folder : Folder.values()) {
+            folders.put(folder, new FolderEntries());
+        }
+    }
+
+    public static boolean isEmailFile(Path file) {
+        String fileName = file.getFileName().toString().toLowerCase();
+        return fileName.endsWith(".txt") || fileName.endsWith(".eml") || fileName.endsWith(".msg");
+    }
+
+    // Archives wait in and move between the same folders as single emails
+    private static boolean isIndexedFile(Path file) {
+        return isEmailFile(file) || ArchiveIngestionService.isArchiveFile(file);
+    }
+
+    public Path pathOf(Folder folder) {
+        return switch (folder) {
+            case PENDING -> Paths.get(inputFolderPath);
+            case PROCESSED -> Paths.get(processedFolderPath);
+            case ERROR -> Paths.get(errorFolderPath);
+        };
+    }
+
+    public long count(Folder folder) {
+        ensureInitialized();
+        return folders.get(folder).count.get();
+    }
+
+    /**
+     * Up to limit files of the folder in name order, starting after the given name (null = from the start)
+     */
+    public FilePage list(Folder folder, String after, int limit) {
+        ensureInitialized();
+        int pageSize = Math.max(1, limit);
+        FolderEntries entries = folders.get(folder);
+        ConcurrentNavigableMap<String, FileEntry> view = after == null
+            ? entries.files
+            : entries.files.tailMap(after, false);
+
+        List<FileEntry> page = new ArrayList<>(Math.min(pageSize, 1000));
+        String nextAfter = null;
+        for (FileEntry entry : view.values()) {
+            if (page.size() == pageSize) {
+                nextAfter = page.get(page.size() - 1).name();
+                break;
+            }
+            page.add(entry);
+        }
+        return new FilePage(page, entries.count.get(), nextAfter);
+    }
+
+    public void fileAdded(Folder folder, Path file) {
+        if (!isIndexedFile(file)) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            folders.get(folder).put(toEntry(file, attributes));
+        } catch (IOException e) {
+            // Gone again already; nothing to index
+            fileRemoved(folder, file);
+        }
+    }
+
+    public void fileRemoved(Folder folder, Path file) {
+        folders.get(folder).remove(file.getFileName().toString());
+    }
+
+    public void fileMoved(Folder from, Path source, Folder to, Path target) {
+        fileRemoved(from, source);
+        fileAdded(to, target);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Rebuild every folder from disk. Updates racing with the rescan may be lost until the next one.
+     */
+    @Scheduled(fixedDelayString = "${app.email.index.reconcile.interval.ms:600000}",
+               initialDelayString = "${app.email.index.reconcile.interval.ms:600000}")
+    public void reconcile() {
+        long startMillis = System.currentTimeMillis();
+        for (Folder folder : Folder.values()) {
+            FolderEntries scanned = new FolderEntries();
+            Path path = pathOf(folder);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    files.filter(EmailFolderIndex::isIndexedFile).forEach(file -> {
+                        try {
+                            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                            if (attributes.isRegularFile()) {
+                                scanned.put(toEntry(file, attributes));
+                            }
+                        } catch (IOException e) {
+                            log.debug("Skipping {} during folder scan: {}", file, e.getMessage());
+                        }
+                    });
+                } catch (IOException e) {
+                    log.warn("⚠️ Could not scan folder {}: {}", path, e.getMessage());
+                    continue;
+                }
+            }
+            folders.get(folder).replaceWith(scanned);
+        }
+        initialized = true;
+        log.debug("📇 Folder index reconciled in {} ms (pending: {}, processed: {}, errors: {})",
+                System.currentTimeMillis() - startMillis,
+                folders.get(Folder.PENDING).count.get(),
+                folders.get(Folder.PROCESSED).count.get(),
+                folders.get(Folder.ERROR).count.get());
+    }
+
+    private void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (!initialized) {
+                reconcile();
+            }
+        }
+    }
+
+    private static FileEntry toEntry(Path file, BasicFileAttributes attributes) {
+        return new FileEntry(file.getFileName().toString(), attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    private static class FolderEntries {
+        private final ConcurrentSkipListMap<String, FileEntry> files = new ConcurrentSkipListMap<>();
+        // ConcurrentSkipListMap.size() walks the whole map, so the count is kept alongside
+        private final AtomicLong count = new AtomicLong();
+
+        void put(FileEntry entry) {
+            if (files.put(entry.name(), entry) == null) {
+                count.incrementAndGet();
+            }
+        }
+
+        void remove(String name) {
+            if (files.remove(name) != null) {
+                count.decrementAndGet();
+            }
+        }
+
+        synchronized void replaceWith(FolderEntries scanned) {
+            files.keySet().retainAll(scanned.files.keySet());
+            files.putAll(scanned.files);
+            count.set(scanned.count.get());
+        }
+    }
+
+    public record FileEntry(String name, long size, long lastModified) {
+    }
+
+    public record FilePage(List<FileEntry> files, long total, String nextAfter) {
+    }
+}
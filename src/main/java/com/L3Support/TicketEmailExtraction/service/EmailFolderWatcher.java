@@ -0,0 +1,253 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the input folder and feeds new email files into the ingestion pipeline as they arrive.
+ * A periodic reconciliation scan picks up anything the watcher missed (overflow, downtime).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailFolderWatcher {
+
+    private final FileBasedEmailService emailService;
+    private final EmailFolderIndex folderIndex;
+
+    @Value("${app.email.input.folder:./emails}")
+    private String inputFolderPath;
+
+    @Value("${app.email.watch.enabled:true}")
+    private boolean watchEnabled;
+
+    // A file must stay unchanged this long before it is treated as fully written
+    @Value("${app.email.watch.debounce.ms:2000}")
+    private long debounceMillis;
+
+    private volatile boolean running;
+    private volatile boolean reconcileRequested;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    // Only touched by the watcher thread
+    private final Map<Path, PendingFile> pendingFiles = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!watchEnabled || running) {
+            return;
+        }
+        try {
+            Path inputPath = Paths.get(inputFolderPath);
+            Files.createDirectories(inputPath);
+            watchService = inputPath.getFileSystem().newWatchService();
+            inputPath.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+
+            running = true;
+            watcherThread = new Thread(() -> watchLoop(inputPath), "email-folder-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+            log.info("👀 Watching {} for new email files (debounce: {} ms)", inputPath, debounceMillis);
+
+            // Drain whatever arrived while the application was down
+            reconcileRequested = true;
+        } catch (IOException e) {
+            log.error("❌ Could not start email folder watcher: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error closing watch service: {}", e.getMessage());
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    /**
+     * Periodic full scan as a safety net for events the watcher could not deliver.
+     */
+    @Scheduled(fixedDelayString = "${app.email.watch.reconcile.interval.ms:300000}",
+               initialDelayString = "${app.email.watch.reconcile.interval.ms:300000}")
+    public void scheduleReconciliation() {
+        if (running) {
+            reconcileRequested = true;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watchLoop(Path inputPath) {
+        long pollMillis = Math.max(250, debounceMillis / 2);
+        while (running) {
+            try {
+                WatchKey key = watchService.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    collectEvents(inputPath, key);
+                    if (!key.reset()) {
+                        log.error("❌ Input folder {} is no longer accessible, stopping watcher", inputPath);
+                        running = false;
+                        break;
+                    }
+                }
+
+                if (reconcileRequested) {
+                    reconcileRequested = false;
+                    reconcile(inputPath);
+                    continue;
+                }
+
+                List<Path> readyFiles = collectSettledFiles();
+                if (!readyFiles.isEmpty()) {
+                    log.info("📥 {} new email file(s) ready for processing", readyFiles.size());
+                    emailService.processFiles(readyFiles);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            } catch (Exception e) {
+                // Keep the daemon alive; the next reconciliation scan retries anything left behind
+                log.error("❌ Error in email folder watcher: {}", e.getMessage(), e);
+            }
+        }
+        log.info("🛑 Email folder watcher stopped");
+    }
+
+    private void collectEvents(Path inputPath, WatchKey key) {
+        long now = System.currentTimeMillis();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                log.warn("⚠️ Watch events overflowed, scheduling reconciliation scan");
+                reconcileRequested = true;
+                continue;
+            }
+
+            Path file = inputPath.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                pendingFiles.remove(file);
+                folderIndex.fileRemoved(EmailFolderIndex.Folder.PENDING, file);
+            } else if (emailService.isIngestibleFile(file)) {
+                pendingFiles.computeIfAbsent(file, f -> new PendingFile()).touch(now);
+                folderIndex.fileAdded(EmailFolderIndex.Folder.PENDING, file);
+            }
+        }
+    }
+
+    /**
+     * Ingest the files in the input folder that no event brought in. Files still being
+     * debounced, or modified within the debounce window, may be half-written: they are left
+     * to (or put into) the pending set instead of being read now.
+     */
+    private void reconcile(Path inputPath) throws IOException {
+        log.info("🔁 Running reconciliation scan of {}", inputPath);
+        long now = System.currentTimeMillis();
+        List<Path> settledFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(inputPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(file) || !emailService.isIngestibleFile(file) || pendingFiles.containsKey(file)) {
+                    continue;
+                }
+                long lastModified;
+                try {
+                    lastModified = Files.getLastModifiedTime(file).toMillis();
+                } catch (IOException e) {
+                    continue; // Removed meanwhile
+                }
+                if (now - lastModified < debounceMillis) {
+                    pendingFiles.computeIfAbsent(file, f -> new PendingFile()).touch(now);
+                } else {
+                    settledFiles.add(file);
+                }
+            }
+        }
+        log.info("📧 Reconciliation found {} settled email file(s), {} still being written", settledFiles.size(), pendingFiles.size());
+        if (!settledFiles.isEmpty()) {
+            emailService.processFiles(settledFiles);
+        }
+    }
+
+    // Files whose size has not changed for the debounce window are considered fully written
+    private List<Path> collectSettledFiles() {
+        long now = System.currentTimeMillis();
+        List<Path> readyFiles = new ArrayList<>();
+
+        Iterator<Map.Entry<Path, PendingFile>> iterator = pendingFiles.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, PendingFile> entry = iterator.next();
+            Path file = entry.getKey();
+            PendingFile pending = entry.getValue();
+            if (now - pending.lastChangeMillis < debounceMillis) {
+                continue;
+            }
+
+            if (!Files.isRegularFile(file)) {
+                iterator.remove();
+                continue;
+            }
+
+            long size;
+            try {
+                size = Files.size(file);
+            } catch (IOException e) {
+                iterator.remove();
+                continue;
+            }
+
+            if (size != pending.lastSize) {
+                // Still being written; wait another debounce window
+                pending.lastSize = size;
+                pending.touch(now);
+                continue;
+            }
+
+            iterator.remove();
+            readyFiles.add(file);
+        }
+        return readyFiles;
+    }
+
+    private static class PendingFile {
+        private long lastChangeMillis;
+        private long lastSize = -1;
+
+        void touch(long now) {
+            lastChangeMillis = now;
+        }
+    }
+}
@@ -1,12 +1,29 @@
 package com.L3Support.TicketEmailExtraction.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -14,8 +31,14 @@ import org.springframework.stereotype.Service;
 
 import com.L3Support.TicketEmailExtraction.model.Ticket;
 import com.L3Support.TicketEmailExtraction.repository.TicketRepository;
+import com.L3Support.TicketEmailExtraction.utils.AhoCorasickMatcher;
 import com.L3Support.TicketEmailExtraction.utils.CommonConstant;
+import com.L3Support.TicketEmailExtraction.utils.EmailFingerprint;
+import com.L3Support.TicketEmailExtraction.utils.EmailTextDecoder;
+import com.L3Support.TicketEmailExtraction.utils.MimeTextExtractor;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,8 +47,15 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class FileBasedEmailService {
 
+    private static final long WORKER_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final TicketRepository ticketRepository;
     private final TicketParserService ticketParserService;
+    private final TicketBatchWriter ticketBatchWriter;
+    private final EmailFingerprintIndex fingerprintIndex;
+    private final IngestionJournal ingestionJournal;
+    private final EmailFolderIndex folderIndex;
+    private final ArchiveIngestionService archiveIngestionService;
 
     @Value("${app.email.input.folder:./emails}")
     private String inputFolderPath;
@@ -36,7 +66,8 @@ public class FileBasedEmailService {
     @Value("${app.email.error.folder:./emails/error}")
     private String errorFolderPath;
 
-    private final List<String> allowedProjects = CommonConstant.L3_ALLOWED_PROJECTS;
+    // All allowed project names matched in a single pass over the text
+    private final AhoCorasickMatcher projectMatcher = new AhoCorasickMatcher(CommonConstant.L3_ALLOWED_PROJECTS, false);
 
     @Value("${app.processing.auto.move.files:true}")
     private boolean autoMoveFiles;
@@ -44,7 +75,99 @@ public class FileBasedEmailService {
     @Value("${app.processing.create.backup:true}")
     private boolean createBackup;
 
-    public void processAllEmails() {
+    @Value("${app.processing.workers:0}")
+    private int configuredWorkers;
+
+    @Value("${app.processing.persist.queue.capacity:256}")
+    private int persistQueueCapacity;
+
+    @Value("${app.ingestion.duplicate.check.chunk.size:1000}")
+    private int duplicateCheckChunkSize;
+
+    @Value("${app.ingestion.batch.size:50}")
+    private int batchSize;
+
+    @Value("${app.ingestion.batch.flush.interval.ms:1000}")
+    private long batchFlushIntervalMillis;
+
+    // Check the project against the header block plus the start of the body before reading the whole file
+    @Value("${app.processing.prefilter.enabled:true}")
+    private boolean prefilterEnabled;
+
+    @Value("${app.processing.prefilter.header.max.bytes:65536}")
+    private int prefilterHeaderMaxBytes;
+
+    @Value("${app.processing.prefilter.body.bytes:16384}")
+    private int prefilterBodyBytes;
+
+    // Decoded text kept from a MIME message; the rest of the body is skipped
+    @Value("${app.processing.mime.max.text.chars:1048576}")
+    private int mimeMaxTextChars;
+
+    private ExecutorService parseExecutor;
+
+    // Files currently owned by a run; the watcher and reconciliation scans may overlap
+    private final Set<Path> inFlightFiles = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void startParseWorkers() {
+        int workers = configuredWorkers > 0 ? configuredWorkers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        parseExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "email-parser-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("⚙️ Email ingestion using {} parse workers (persist queue capacity: {})", workers, persistQueueCapacity);
+
+        recoverInterruptedIngestion();
+    }
+
+    /**
+     * Resolve files the previous run left half-way: a ticket that made it into the database
+     * gets its file moved (finish), anything else stays in the input folder to be ingested
+     * again (roll back).
+     */
+    private void recoverInterruptedIngestion() {
+        List<IngestionJournal.PendingEntry> pending = ingestionJournal.getRecoveredEntries();
+        if (pending.isEmpty()) {
+            ingestionJournal.reset();
+            return;
+        }
+
+        List<Path> leftInInput = pending.stream()
+            .map(IngestionJournal.PendingEntry::file)
+            .filter(Files::isRegularFile)
+            .toList();
+        Set<String> persisted = findKnownMessageIds(leftInInput);
+
+        int finished = 0;
+        for (Path file : leftInInput) {
+            if (persisted.contains(messageIdOf(file))) {
+                if (autoMoveFiles) {
+                    initializeDirectories();
+                    moveToProcessedFolder(file);
+                }
+                finished++;
+            }
+        }
+        ingestionJournal.reset();
+        log.info("🩹 Ingestion journal recovery: {} in-flight file(s), {} finished, {} rolled back for re-ingestion",
+                pending.size(), finished, leftInInput.size() - finished);
+    }
+
+    @PreDestroy
+    void stopParseWorkers() {
+        if (parseExecutor != null) {
+            parseExecutor.shutdownNow();
+        }
+    }
+
+    public ProcessingRunResult processAllEmails() {
+        return processAllEmails(IngestionProgressListener.NONE);
+    }
+
+    public ProcessingRunResult processAllEmails(IngestionProgressListener listener) {
         try {
             log.info("🔄 Starting L3 support email processing...");
             
@@ -54,35 +177,17 @@ public class FileBasedEmailService {
             Path inputPath = Paths.get(inputFolderPath);
             if (!Files.exists(inputPath)) {
                 log.error("❌ Input folder does not exist: {}", inputFolderPath);
-                return;
+                return ProcessingRunResult.empty();
             }
 
             // Process all email files
             try (Stream<Path> files = Files.list(inputPath)) {
                 List<Path> emailFiles = files.filter(Files::isRegularFile)
-                     .filter(this::isValidEmailFile)
+                     .filter(this::isIngestibleFile)
                      .toList();
 
                 log.info("📧 Found {} email files to process", emailFiles.size());
-                
-                int processedCount = 0;
-                int errorCount = 0;
-                
-                for (Path file : emailFiles) {
-                    try {
-                        if (processEmailFile(file)) {
-                            processedCount++;
-                        } else {
-                            errorCount++;
-                        }
-                    } catch (Exception e) {
-                        log.error("❌ Error processing file {}: {}", file.getFileName(), e.getMessage());
-                        moveToErrorFolder(file, e.getMessage());
-                        errorCount++;
-                    }
-                }
-
-                log.info("📊 Processing complete. Success: {}, Errors: {}", processedCount, errorCount);
+                return processFiles(emailFiles, listener);
             }
 
         } catch (IOException e) {
@@ -91,6 +196,261 @@ public class FileBasedEmailService {
         }
     }
 
+    /**
+     * Parse the given files on the worker pool and persist the results on the calling thread.
+     * Workers block once the persist queue is full, so a slow database throttles parsing
+     * instead of letting parsed tickets pile up in memory.
+     */
+    public ProcessingRunResult processFiles(List<Path> candidateFiles) {
+        return processFiles(candidateFiles, IngestionProgressListener.NONE);
+    }
+
+    public ProcessingRunResult processFiles(List<Path> candidateFiles, IngestionProgressListener listener) {
+        long startNanos = System.nanoTime();
+        List<Path> emailFiles = claimFiles(candidateFiles);
+        try {
+            return runPipeline(emailFiles, startNanos, listener);
+        } finally {
+            ingestionJournal.releaseUnfinished(emailFiles);
+            ingestionJournal.sync();
+            emailFiles.forEach(file -> inFlightFiles.remove(file.toAbsolutePath().normalize()));
+        }
+    }
+
+    private List<Path> claimFiles(List<Path> candidateFiles) {
+        List<Path> claimed = new ArrayList<>(candidateFiles.size());
+        for (Path file : candidateFiles) {
+            if (inFlightFiles.add(file.toAbsolutePath().normalize())) {
+                claimed.add(file);
+            } else {
+                log.debug("⏭️ File already being processed by another run: {}", file.getFileName());
+            }
+        }
+        return claimed;
+    }
+
+    private ProcessingRunResult runPipeline(List<Path> emailFiles, long startNanos, IngestionProgressListener listener) {
+        BlockingQueue<ParseOutcome> persistQueue = new ArrayBlockingQueue<>(Math.max(1, persistQueueCapacity));
+        RunCounters counters = new RunCounters(listener);
+        listener.onRunStarted(emailFiles.size());
+
+        List<Path> archives = emailFiles.stream().filter(ArchiveIngestionService::isArchiveFile).toList();
+        List<Path> messageFiles = emailFiles.stream().filter(file -> !ArchiveIngestionService.isArchiveFile(file)).toList();
+
+        // Check if files have been processed, for the whole run up front
+        Set<String> knownMessageIds = findKnownMessageIds(messageFiles);
+        List<Path> newFiles = new ArrayList<>(messageFiles.size());
+        for (Path file : messageFiles) {
+            if (knownMessageIds.contains(messageIdOf(file))) {
+                log.debug("⏭️ File already processed: {}", file.getFileName());
+                completeFile(file);
+                counters.duplicateCount++;
+                listener.onFileCompleted(file, IngestionProgressListener.FileOutcome.DUPLICATE, null);
+            } else {
+                ingestionJournal.record(file, IngestionJournal.State.CLAIMED);
+                newFiles.add(file);
+            }
+        }
+        ingestionJournal.sync();
+
+        int expected = newFiles.size();
+        for (Path file : newFiles) {
+            try {
+                parseExecutor.execute(() -> parseAndHandOff(file, listener, persistQueue));
+            } catch (RejectedExecutionException e) {
+                // Shutting down: never read, stays in the input folder for a later run
+                expected--;
+                ingestionJournal.record(file, IngestionJournal.State.RELEASED, "cancelled");
+                counters.cancelledCount++;
+                listener.onFileCompleted(file, IngestionProgressListener.FileOutcome.CANCELLED, null);
+            }
+        }
+
+        List<ParseOutcome> pendingBatch = new ArrayList<>(Math.max(1, batchSize));
+        long batchDeadlineNanos = 0;
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, batchFlushIntervalMillis));
+
+        int received = 0;
+        while (received < expected) {
+            ParseOutcome outcome;
+            try {
+                // Don't let a half-full batch wait on slow parsers forever, and look up now and
+                // then whether the workers are still there to deliver the rest
+                long waitNanos = pendingBatch.isEmpty()
+                        ? WORKER_CHECK_INTERVAL_NANOS
+                        : Math.max(0, Math.min(batchDeadlineNanos - System.nanoTime(), WORKER_CHECK_INTERVAL_NANOS));
+                outcome = persistQueue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("⚠️ Email processing interrupted after {} of {} files", received, expected);
+                break;
+            }
+
+            if (outcome == null) {
+                if (parseExecutor.isTerminated() && persistQueue.isEmpty()) {
+                    // Workers are gone (shutdown); the files not handed off stay in the input folder
+                    log.warn("⚠️ Parse workers stopped after {} of {} files", received, expected);
+                    break;
+                }
+                if (!pendingBatch.isEmpty() && System.nanoTime() - batchDeadlineNanos >= 0) {
+                    flushBatch(pendingBatch, counters);
+                }
+                continue;
+            }
+            received++;
+
+            switch (outcome.status()) {
+                case PARSED -> {
+                    ingestionJournal.record(outcome.file(), IngestionJournal.State.PARSED, outcome.ticket().getContentHash());
+                    if (pendingBatch.isEmpty()) {
+                        batchDeadlineNanos = System.nanoTime() + flushIntervalNanos;
+                    }
+                    pendingBatch.add(outcome);
+                    if (pendingBatch.size() >= batchSize) {
+                        flushBatch(pendingBatch, counters);
+                    }
+                }
+                case DUPLICATE -> {
+                    completeFile(outcome.file());
+                    counters.duplicateCount++;
+                    listener.onFileCompleted(outcome.file(), IngestionProgressListener.FileOutcome.DUPLICATE, null);
+                }
+                case SKIPPED -> {
+                    ingestionJournal.record(outcome.file(), IngestionJournal.State.RELEASED, "skipped");
+                    counters.skippedCount++;
+                    listener.onFileCompleted(outcome.file(), IngestionProgressListener.FileOutcome.SKIPPED, null);
+                }
+                case FAILED -> {
+                    failFile(outcome.file(), outcome.errorMessage());
+                    counters.errorCount++;
+                    listener.onFileCompleted(outcome.file(), IngestionProgressListener.FileOutcome.ERROR, outcome.errorMessage());
+                }
+                case CANCELLED -> {
+                    // Never read; stays in the input folder for a later run
+                    ingestionJournal.record(outcome.file(), IngestionJournal.State.RELEASED, "cancelled");
+                    counters.cancelledCount++;
+                    listener.onFileCompleted(outcome.file(), IngestionProgressListener.FileOutcome.CANCELLED, null);
+                }
+            }
+        }
+        flushBatch(pendingBatch, counters);
+        processArchives(archives, counters);
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        ProcessingRunResult result = new ProcessingRunResult(counters.processedCount, counters.duplicateCount,
+                counters.skippedCount, counters.errorCount, counters.cancelledCount, elapsedMillis);
+        if (counters.cancelledCount > 0) {
+            log.info("🛑 Processing cancelled, {} file(s) left in the input folder", counters.cancelledCount);
+        }
+        log.info("📊 Processing complete. Success: {}, Duplicates: {}, Skipped: {}, Errors: {} in {} ms ({} files/sec)",
+                counters.processedCount, counters.duplicateCount, counters.skippedCount, counters.errorCount, elapsedMillis,
+                String.format("%.1f", result.getFilesPerSecond()));
+        return result;
+    }
+
+    // Archives are streamed one at a time on this thread; each one holds many messages, and each
+    // message counts as an item of the run like a single file would
+    private void processArchives(List<Path> archives, RunCounters counters) {
+        IngestionProgressListener listener = counters.listener;
+        IngestionProgressListener messageListener = new IngestionProgressListener() {
+            @Override
+            public void onArchiveMessageCompleted(Path archive, FileOutcome outcome, long bytesRead, long totalBytes) {
+                counters.count(outcome);
+                listener.onArchiveMessageCompleted(archive, outcome, bytesRead, totalBytes);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return listener.isCancelled();
+            }
+        };
+        for (Path archive : archives) {
+            if (listener.isCancelled()) {
+                ingestionJournal.record(archive, IngestionJournal.State.RELEASED, "cancelled");
+                counters.cancelledCount++;
+                listener.onFileCompleted(archive, IngestionProgressListener.FileOutcome.CANCELLED, null);
+                continue;
+            }
+
+            ingestionJournal.record(archive, IngestionJournal.State.CLAIMED);
+            ingestionJournal.sync();
+            try {
+                ArchiveIngestionService.ArchiveResult result = archiveIngestionService.ingest(archive, messageListener);
+                if (result.isCompleted() && result.hasErrors()) {
+                    // Its checkpoint stops at the first failed message and is keyed on the archive's content,
+                    // so putting it back in the input folder (under any name) resumes from there
+                    log.error("❌ Archive {} had failed messages: {}", archive.getFileName(), result.toSummary());
+                    failFile(archive, result.toSummary());
+                    listener.onArchiveCompleted(archive, IngestionProgressListener.FileOutcome.ERROR, result.toSummary());
+                } else if (result.isCompleted()) {
+                    completeFile(archive);
+                    listener.onArchiveCompleted(archive, IngestionProgressListener.FileOutcome.PROCESSED, result.toSummary());
+                } else {
+                    // Its checkpoint lets the next run continue where this one stopped
+                    ingestionJournal.record(archive, IngestionJournal.State.RELEASED, "cancelled");
+                    counters.cancelledCount++;
+                    listener.onFileCompleted(archive, IngestionProgressListener.FileOutcome.CANCELLED, result.toSummary());
+                }
+            } catch (IOException e) {
+                // Unreadable or corrupt archive: retrying will not help
+                log.error("❌ Error reading archive {}: {}", archive.getFileName(), e.getMessage());
+                failFile(archive, e.getMessage());
+                counters.errorCount++;
+                listener.onFileCompleted(archive, IngestionProgressListener.FileOutcome.ERROR, e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("❌ Error processing archive {}: {}", archive.getFileName(), e.getMessage());
+                ingestionJournal.record(archive, IngestionJournal.State.RELEASED, "failed, will resume");
+                counters.errorCount++;
+                listener.onFileCompleted(archive, IngestionProgressListener.FileOutcome.ERROR, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resolve which of the files were already ingested with a handful of IN queries
+     * instead of one existence check per file.
+     */
+    private Set<String> findKnownMessageIds(List<Path> emailFiles) {
+        List<String> messageIds = emailFiles.stream().map(this::messageIdOf).toList();
+        Set<String> known = new HashSet<>();
+        int chunkSize = Math.max(1, duplicateCheckChunkSize);
+        for (int from = 0; from < messageIds.size(); from += chunkSize) {
+            List<String> chunk = messageIds.subList(from, Math.min(from + chunkSize, messageIds.size()));
+            known.addAll(ticketRepository.findExistingMessageIds(chunk));
+        }
+        return known;
+    }
+
+    private String messageIdOf(Path file) {
+        return file.getFileName().toString();
+    }
+
+    // Runs on a parse worker; hands off an outcome whatever happens, or the persist loop would wait for it forever
+    private void parseAndHandOff(Path file, IngestionProgressListener listener, BlockingQueue<ParseOutcome> persistQueue) {
+        ParseOutcome outcome = null;
+        try {
+            outcome = listener.isCancelled() ? ParseOutcome.cancelled(file) : parseEmailFile(file);
+        } catch (Throwable e) {
+            // Errors too, e.g. a StackOverflowError from regex backtracking on a pathological body
+            log.error("❌ Error processing file {}: {}", file.getFileName(), e.toString());
+            outcome = ParseOutcome.failed(file, e.toString());
+        } finally {
+            handOff(persistQueue, outcome != null ? outcome : ParseOutcome.failed(file, "Parse worker stopped"));
+        }
+    }
+
+    private void handOff(BlockingQueue<ParseOutcome> persistQueue, ParseOutcome outcome) {
+        try {
+            persistQueue.put(outcome);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Still deliver it if there is room; otherwise the persist loop notices the workers stopped
+            if (!persistQueue.offer(outcome)) {
+                log.warn("⚠️ Parse worker interrupted before handing off {}", outcome.file().getFileName());
+            }
+        }
+    }
+
     private void initializeDirectories() {
         try {
             Files.createDirectories(Paths.get(inputFolderPath));
@@ -102,85 +462,199 @@ public class FileBasedEmailService {
         }
     }
 
-    private boolean isValidEmailFile(Path file) {
-        String fileName = file.getFileName().toString().toLowerCase();
-        return fileName.endsWith(".txt") || fileName.endsWith(".eml") || fileName.endsWith(".msg");
+    boolean isValidEmailFile(Path file) {
+        return EmailFolderIndex.isEmailFile(file);
+    }
+
+    // Single emails plus mbox/zip archives
+    boolean isIngestibleFile(Path file) {
+        return isValidEmailFile(file) || ArchiveIngestionService.isArchiveFile(file);
     }
 
-    private boolean processEmailFile(Path filePath) {
+    // Runs on a parse worker: everything up to (but not including) the database write
+    private ParseOutcome parseEmailFile(Path filePath) {
         try {
             log.info("📄 Processing file: {}", filePath.getFileName());
             
-            String content = Files.readString(filePath);
-            
-            // Check if file has been processed
-            String messageId = filePath.getFileName().toString();
-            if (ticketRepository.existsByMessageId(messageId)) {
-                log.debug("⏭️ File already processed: {}", messageId);
-                if (autoMoveFiles) {
-                    moveToProcessedFolder(filePath);
+            String messageId = messageIdOf(filePath);
+
+            // MIME bodies may be base64 or quoted-printable, so their raw prefix says nothing about the project
+            FilePrefix prefix = readPrefix(filePath);
+            boolean mime = MimeTextExtractor.isMime(prefix.text());
+            if (prefilterEnabled && !mime && !isValidProject(prefix.text())) {
+                log.debug("⏭️ No valid project found in header/prefix of file: {}", messageId);
+                return ParseOutcome.skipped(filePath);
+            }
+
+            String content;
+            if (mime) {
+                try (InputStream input = Files.newInputStream(filePath)) {
+                    content = MimeTextExtractor.extract(input, mimeMaxTextChars);
                 }
-                return false;
+            } else {
+                content = prefix.complete() ? prefix.text() : EmailTextDecoder.decode(Files.readAllBytes(filePath));
             }
 
-            // Validate project
-            if (!isValidProject(content)) {
-                log.debug("⏭️ No valid project found in file: {}", messageId);
-                return false;
+            // Reject the same email saved under another name before any parsing work
+            String contentHash = EmailFingerprint.of(content);
+            if (!fingerprintIndex.claim(contentHash)) {
+                log.debug("⏭️ Same content already processed: {}", messageId);
+                return ParseOutcome.duplicate(filePath);
             }
 
-            // Parse and save ticket
-            Ticket ticket = ticketParserService.parseEmailToTicket(content);
-            if (ticket != null) {
-                ticket.setMessageId(messageId);
-                ticketRepository.save(ticket);
-                log.info("✅ Saved ticket: {} (ID: {})", ticket.getTicketSummary(), ticket.getId());
-                
-                // Move processed file
-                if (autoMoveFiles) {
-                    moveToProcessedFolder(filePath);
+            try {
+                // Validate project
+                if (!isValidProject(content)) {
+                    log.debug("⏭️ No valid project found in file: {}", messageId);
+                    fingerprintIndex.release(contentHash);
+                    return ParseOutcome.skipped(filePath);
                 }
-                return true;
-            } else {
-                log.warn("⚠️ Failed to parse ticket from file: {}", messageId);
-                return false;
+
+                // Parse ticket
+                Ticket ticket = ticketParserService.parseEmailToTicket(content);
+                if (ticket == null) {
+                    log.warn("⚠️ Failed to parse ticket from file: {}", messageId);
+                    fingerprintIndex.release(contentHash);
+                    return ParseOutcome.skipped(filePath);
+                }
+                ticket.setMessageId(messageId);
+                ticket.setContentHash(contentHash);
+                return ParseOutcome.parsed(filePath, ticket);
+            } catch (RuntimeException e) {
+                fingerprintIndex.release(contentHash);
+                throw e;
             }
 
         } catch (IOException e) {
             log.error("❌ Error reading file {}: {}", filePath.getFileName(), e.getMessage());
-            return false;
+            return ParseOutcome.skipped(filePath);
+        } catch (Exception e) {
+            log.error("❌ Error processing file {}: {}", filePath.getFileName(), e.getMessage());
+            return ParseOutcome.failed(filePath, e.getMessage());
         }
     }
 
+    // Runs on the persisting thread only, so moves never race with each other
+    private void flushBatch(List<ParseOutcome> pendingBatch, RunCounters counters) {
+        if (pendingBatch.isEmpty()) {
+            return;
+        }
+
+        // Write-ahead: the parsed entries must be on disk before their tickets are committed
+        ingestionJournal.sync();
+
+        List<Ticket> tickets = pendingBatch.stream().map(ParseOutcome::ticket).toList();
+        TicketBatchWriter.BatchWriteResult result = ticketBatchWriter.saveBatch(tickets);
+
+        for (ParseOutcome outcome : pendingBatch) {
+            Ticket ticket = outcome.ticket();
+            if (result.isSaved(ticket)) {
+                ingestionJournal.record(outcome.file(), IngestionJournal.State.PERSISTED, String.valueOf(ticket.getId()));
+            }
+        }
+        ingestionJournal.sync();
+
+        for (ParseOutcome outcome : pendingBatch) {
+            Ticket ticket = outcome.ticket();
+            if (result.isSaved(ticket)) {
+                log.info("✅ Saved ticket: {} (ID: {})", ticket.getTicketSummary(), ticket.getId());
+                completeFile(outcome.file());
+                counters.processedCount++;
+                counters.listener.onFileCompleted(outcome.file(), IngestionProgressListener.FileOutcome.PROCESSED,
+                        "ticket " + ticket.getId());
+            } else {
+                log.error("❌ Error processing file {}: {}", outcome.file().getFileName(), result.getFailure(ticket));
+                fingerprintIndex.release(ticket.getContentHash());
+                failFile(outcome.file(), result.getFailure(ticket));
+                counters.errorCount++;
+                counters.listener.onFileCompleted(outcome.file(), IngestionProgressListener.FileOutcome.ERROR,
+                        result.getFailure(ticket));
+            }
+        }
+        pendingBatch.clear();
+    }
+
     private boolean isValidProject(String content) {
-        return allowedProjects.stream()
-            .anyMatch(project -> content.contains(project) || content.contains("Project/Product: " + project));
+        // "Project/Product: <name>" contains <name>, so matching the bare names covers both forms
+        return projectMatcher.containsAny(content);
+    }
+
+    /**
+     * Bounded read of the header block plus the first prefilterBodyBytes of the body.
+     * Small files are read completely, so the prefix doubles as the full content.
+     */
+    private FilePrefix readPrefix(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int limit = (int) Math.min(size, (long) prefilterHeaderMaxBytes + prefilterBodyBytes);
+            ByteBuffer buffer = ByteBuffer.allocate(limit);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the buffer is full or the file ends
+            }
+            int read = buffer.position();
+            byte[] bytes = buffer.array();
+
+            if (read >= size) {
+                return new FilePrefix(EmailTextDecoder.decode(bytes, 0, read), true);
+            }
+
+            int headerEnd = findHeaderEnd(bytes, Math.min(read, prefilterHeaderMaxBytes));
+            int cut = (int) Math.min(read, (long) headerEnd + prefilterBodyBytes);
+            // A multi-byte character split at the cut just decodes as a replacement char
+            return new FilePrefix(new String(bytes, 0, cut, StandardCharsets.UTF_8), false);
+        }
+    }
+
+    // Offset just past the first blank line, or the scan limit if the headers run past it
+    private static int findHeaderEnd(byte[] bytes, int scanLimit) {
+        for (int i = 0; i < scanLimit - 1; i++) {
+            if (bytes[i] == '\n') {
+                int next = bytes[i + 1] == '\r' ? i + 2 : i + 1;
+                if (next < scanLimit && bytes[next] == '\n') {
+                    return next + 1;
+                }
+            }
+        }
+        return scanLimit;
+    }
+
+    // A file whose ticket is stored (or was already stored): move it out and close its journal entry
+    private void completeFile(Path filePath) {
+        if (!autoMoveFiles) {
+            ingestionJournal.record(filePath, IngestionJournal.State.RELEASED, "kept in input folder");
+            return;
+        }
+        Path target = moveToProcessedFolder(filePath);
+        if (target != null) {
+            ingestionJournal.record(filePath, IngestionJournal.State.MOVED, target.toString());
+        } else {
+            // Left in place; the message-id check picks it up again on the next run
+            ingestionJournal.record(filePath, IngestionJournal.State.RELEASED, "move failed");
+        }
+    }
+
+    private void failFile(Path filePath, String errorMessage) {
+        Path target = moveToErrorFolder(filePath, errorMessage);
+        ingestionJournal.record(filePath, target != null ? IngestionJournal.State.ERRORED : IngestionJournal.State.RELEASED,
+                target != null ? target + " (" + errorMessage + ")" : "error move failed");
     }
 
-    private void moveToProcessedFolder(Path filePath) {
+    private Path moveToProcessedFolder(Path filePath) {
         try {
             Path processedPath = Paths.get(processedFolderPath);
             Files.createDirectories(processedPath);
             
-            Path targetPath = processedPath.resolve(filePath.getFileName());
-            
-            // Add timestamp if file already exists
-            if (Files.exists(targetPath)) {
-                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                String fileName = filePath.getFileName().toString();
-                String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
-                String extension = fileName.substring(fileName.lastIndexOf('.'));
-                targetPath = processedPath.resolve(baseName + "_" + timestamp + extension);
-            }
-            
-            Files.move(filePath, targetPath);
+            Path targetPath = moveWithoutOverwrite(filePath, processedPath, filePath.getFileName().toString());
+            folderIndex.fileMoved(EmailFolderIndex.Folder.PENDING, filePath, EmailFolderIndex.Folder.PROCESSED, targetPath);
             log.debug("📁 Moved to processed: {}", targetPath.getFileName());
+            return targetPath;
         } catch (IOException e) {
             log.warn("⚠️ Could not move processed file: {}", e.getMessage());
+            return null;
         }
     }
 
-    private void moveToErrorFolder(Path filePath, String errorMessage) {
+    private Path moveToErrorFolder(Path filePath, String errorMessage) {
         try {
             Path errorPath = Paths.get(errorFolderPath);
             Files.createDirectories(errorPath);
@@ -191,42 +665,48 @@ public class FileBasedEmailService {
             String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
             String extension = fileName.substring(fileName.lastIndexOf('.'));
             
-            Path targetPath = errorPath.resolve(baseName + "_" + timestamp + extension);
-            Path errorInfoPath = errorPath.resolve(baseName + "_" + timestamp + "_error.txt");
-            
-            Files.move(filePath, targetPath);
+            Path targetPath = moveWithoutOverwrite(filePath, errorPath, baseName + "_" + timestamp + extension);
+            String targetName = targetPath.getFileName().toString();
+            Path errorInfoPath = errorPath.resolve(targetName.substring(0, targetName.lastIndexOf('.')) + "_error.txt");
+            folderIndex.fileMoved(EmailFolderIndex.Folder.PENDING, filePath, EmailFolderIndex.Folder.ERROR, targetPath);
             Files.writeString(errorInfoPath, "Error: " + errorMessage + "\nTimestamp: " + timestamp);
+            folderIndex.fileAdded(EmailFolderIndex.Folder.ERROR, errorInfoPath);
             
             log.debug("📁 Moved to error folder: {}", targetPath.getFileName());
+            return targetPath;
         } catch (IOException e) {
             log.warn("⚠️ Could not move error file: {}", e.getMessage());
+            return null;
         }
     }
 
-    public ProcessingStats getProcessingStats() {
-        try {
-            long pendingCount = countFilesInFolder(inputFolderPath);
-            long processedCount = countFilesInFolder(processedFolderPath);
-            long errorCount = countFilesInFolder(errorFolderPath);
-            
-            return new ProcessingStats(pendingCount, processedCount, errorCount);
-        } catch (IOException e) {
-            log.error("❌ Error getting processing stats: {}", e.getMessage());
-            return new ProcessingStats(0, 0, 0);
+    /**
+     * Move a file into the target folder, never replacing an existing file.
+     * Name clashes get a timestamp and, if needed, a counter suffix.
+     */
+    private Path moveWithoutOverwrite(Path source, Path targetFolder, String fileName) throws IOException {
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        String extension = fileName.substring(fileName.lastIndexOf('.'));
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+
+        Path targetPath = targetFolder.resolve(fileName);
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return Files.move(source, targetPath);
+            } catch (FileAlreadyExistsException e) {
+                // Add timestamp (and a counter once that is taken too) if file already exists
+                String suffix = attempt == 0 ? "_" + timestamp : "_" + timestamp + "_" + attempt;
+                targetPath = targetFolder.resolve(baseName + suffix + extension);
+            }
         }
     }
 
-    private long countFilesInFolder(String folderPath) throws IOException {
-        Path path = Paths.get(folderPath);
-        if (!Files.exists(path)) {
-            return 0;
-        }
-        
-        try (Stream<Path> files = Files.list(path)) {
-            return files.filter(Files::isRegularFile)
-                       .filter(this::isValidEmailFile)
-                       .count();
-        }
+    // Served from the folder index instead of walking the folders
+    public ProcessingStats getProcessingStats() {
+        return new ProcessingStats(
+            folderIndex.count(EmailFolderIndex.Folder.PENDING),
+            folderIndex.count(EmailFolderIndex.Folder.PROCESSED),
+            folderIndex.count(EmailFolderIndex.Folder.ERROR));
     }
 
     public static class ProcessingStats {
@@ -244,4 +724,90 @@ public class FileBasedEmailService {
         public long getProcessedCount() { return processedCount; }
         public long getErrorCount() { return errorCount; }
     }
-}
\ No newline at end of file
+
+    public static class ProcessingRunResult {
+        private final int processedCount;
+        private final int duplicateCount;
+        private final int skippedCount;
+        private final int errorCount;
+        private final int cancelledCount;
+        private final long elapsedMillis;
+
+        public ProcessingRunResult(int processedCount, int duplicateCount, int skippedCount, int errorCount,
+                                   int cancelledCount, long elapsedMillis) {
+            this.processedCount = processedCount;
+            this.duplicateCount = duplicateCount;
+            this.skippedCount = skippedCount;
+            this.errorCount = errorCount;
+            this.cancelledCount = cancelledCount;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public static ProcessingRunResult empty() {
+            return new ProcessingRunResult(0, 0, 0, 0, 0, 0);
+        }
+
+        public int getProcessedCount() { return processedCount; }
+        public int getDuplicateCount() { return duplicateCount; }
+        public int getSkippedCount() { return skippedCount; }
+        public int getErrorCount() { return errorCount; }
+        public int getCancelledCount() { return cancelledCount; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public int getTotalCount() { return processedCount + duplicateCount + skippedCount + errorCount; }
+
+        public double getFilesPerSecond() {
+            return elapsedMillis > 0 ? getTotalCount() * 1000.0 / elapsedMillis : 0.0;
+        }
+    }
+
+    private static class RunCounters {
+        private int processedCount;
+        private int duplicateCount;
+        private int skippedCount;
+        private int errorCount;
+        private int cancelledCount;
+        private final IngestionProgressListener listener;
+
+        RunCounters(IngestionProgressListener listener) {
+            this.listener = listener;
+        }
+
+        void count(IngestionProgressListener.FileOutcome outcome) {
+            switch (outcome) {
+                case PROCESSED -> processedCount++;
+                case DUPLICATE -> duplicateCount++;
+                case SKIPPED -> skippedCount++;
+                case ERROR -> errorCount++;
+                case CANCELLED -> cancelledCount++;
+            }
+        }
+    }
+
+    private enum ParseStatus { PARSED, DUPLICATE, SKIPPED, FAILED, CANCELLED }
+
+    private record FilePrefix(String text, boolean complete) {
+    }
+
+    private record ParseOutcome(Path file, ParseStatus status, Ticket ticket, String errorMessage) {
+
+        static ParseOutcome parsed(Path file, Ticket ticket) {
+            return new ParseOutcome(file, ParseStatus.PARSED, ticket, null);
+        }
+
+        static ParseOutcome duplicate(Path file) {
+            return new ParseOutcome(file, ParseStatus.DUPLICATE, null, null);
+        }
+
+        static ParseOutcome skipped(Path file) {
+            return new ParseOutcome(file, ParseStatus.SKIPPED, null, null);
+        }
+
+        static ParseOutcome failed(Path file, String errorMessage) {
+            return new ParseOutcome(file, ParseStatus.FAILED, null, errorMessage);
+        }
+
+        static ParseOutcome cancelled(Path file) {
+            return new ParseOutcome(file, ParseStatus.CANCELLED, null, null);
+        }
+    }
+}
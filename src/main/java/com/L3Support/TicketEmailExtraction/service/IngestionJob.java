@@ -0,0 +1,207 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One asynchronous ingestion run: live counters while it runs, the final outcome afterwards.
+ * Items are single files and archive messages, counted the same way as the run's result; an
+ * archive stands for one item until its messages turn up. Counters are written by the job
+ * thread and read by request threads, hence the synchronization.
+ */
+public class IngestionJob implements IngestionProgressListener {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+
+    private final String id;
+    private final long submittedAt;
+    private final int maxFileOutcomes;
+    private final Runnable progressCallback;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private long startedAt;
+    private long finishedAt;
+    private int totalFiles;
+    private int processedCount;
+    private int duplicateCount;
+    private int skippedCount;
+    private int errorCount;
+    private int cancelledCount;
+    private String errorMessage;
+    private final List<Map<String, Object>> fileOutcomes = new ArrayList<>();
+    private boolean fileOutcomesTruncated;
+    // Archive being read: messages reported so far and the reader's position in the file
+    private Path currentArchive;
+    private long archiveMessages;
+    private long archiveStartBytes;
+    private long archiveBytesRead;
+    private long archiveTotalBytes;
+
+    public IngestionJob(String id, int maxFileOutcomes, Runnable progressCallback) {
+        this.id = id;
+        this.submittedAt = System.currentTimeMillis();
+        this.maxFileOutcomes = maxFileOutcomes;
+        this.progressCallback = progressCallback;
+    }
+
+    public String getId() { return id; }
+    public Status getStatus() { return status; }
+
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    synchronized void markRunning() {
+        status = Status.RUNNING;
+        startedAt = System.currentTimeMillis();
+    }
+
+    synchronized void markFinished(Status finalStatus, String error) {
+        status = finalStatus;
+        errorMessage = error;
+        finishedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public synchronized void onRunStarted(int totalFiles) {
+        this.totalFiles = totalFiles;
+    }
+
+    @Override
+    public void onFileCompleted(Path file, FileOutcome outcome, String detail) {
+        synchronized (this) {
+            count(outcome);
+            if (file.equals(currentArchive)) {
+                currentArchive = null;
+            }
+            recordOutcome(file, outcome, detail);
+        }
+        progressCallback.run();
+    }
+
+    @Override
+    public void onArchiveMessageCompleted(Path archive, FileOutcome outcome, long bytesRead, long totalBytes) {
+        synchronized (this) {
+            if (!archive.equals(currentArchive)) {
+                currentArchive = archive;
+                archiveMessages = 0;
+                archiveStartBytes = bytesRead;
+            }
+            archiveMessages++;
+            archiveBytesRead = bytesRead;
+            archiveTotalBytes = totalBytes;
+            totalFiles++;
+            count(outcome);
+        }
+        progressCallback.run();
+    }
+
+    @Override
+    public void onArchiveCompleted(Path archive, FileOutcome outcome, String detail) {
+        synchronized (this) {
+            // Its messages were counted instead
+            totalFiles--;
+            currentArchive = null;
+            recordOutcome(archive, outcome, detail);
+        }
+        progressCallback.run();
+    }
+
+    private void count(FileOutcome outcome) {
+        switch (outcome) {
+            case PROCESSED -> processedCount++;
+            case DUPLICATE -> duplicateCount++;
+            case SKIPPED -> skippedCount++;
+            case ERROR -> errorCount++;
+            case CANCELLED -> cancelledCount++;
+        }
+    }
+
+    private void recordOutcome(Path file, FileOutcome outcome, String detail) {
+        if (fileOutcomes.size() < maxFileOutcomes) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("file", file.getFileName().toString());
+            entry.put("outcome", outcome);
+            if (detail != null) {
+                entry.put("detail", detail);
+            }
+            fileOutcomes.add(entry);
+        } else {
+            fileOutcomesTruncated = true;
+        }
+    }
+
+    // Messages still ahead in the current archive, extrapolated from how many came per byte so far
+    private long remainingArchiveMessages() {
+        long bytesSoFar = archiveBytesRead - archiveStartBytes;
+        if (currentArchive == null || archiveMessages < 2 || bytesSoFar <= 0) {
+            return 0;
+        }
+        return (long) ((double) archiveMessages / bytesSoFar * Math.max(0, archiveTotalBytes - archiveBytesRead));
+    }
+
+    /**
+     * Counters, rate and ETA; includes the per-file outcomes only when asked for
+     */
+    public synchronized Map<String, Object> toSummary(boolean includeFiles) {
+        int completed = processedCount + duplicateCount + skippedCount + errorCount + cancelledCount;
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        long elapsedMillis = startedAt > 0 ? end - startedAt : 0;
+        double filesPerSecond = elapsedMillis > 0 ? completed * 1000.0 / elapsedMillis : 0.0;
+        long remaining = Math.max(0, totalFiles - completed);
+        long archiveRemaining = remainingArchiveMessages();
+        if (archiveRemaining > 0) {
+            // The estimate replaces the one item the archive stands for
+            remaining += archiveRemaining - 1;
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("jobId", id);
+        summary.put("status", status);
+        summary.put("cancelRequested", cancelRequested);
+        summary.put("submittedAt", submittedAt);
+        summary.put("startedAt", startedAt > 0 ? startedAt : null);
+        summary.put("finishedAt", finishedAt > 0 ? finishedAt : null);
+        summary.put("total", totalFiles);
+        summary.put("completed", completed);
+        summary.put("processed", processedCount);
+        summary.put("duplicates", duplicateCount);
+        summary.put("skipped", skippedCount);
+        summary.put("errors", errorCount);
+        summary.put("cancelled", cancelledCount);
+        summary.put("elapsedMillis", elapsedMillis);
+        summary.put("filesPerSecond", filesPerSecond);
+        summary.put("etaMillis", status == Status.RUNNING && filesPerSecond > 0 ? (long) (remaining * 1000 / filesPerSecond) : null);
+        if (currentArchive != null) {
+            Map<String, Object> archive = new LinkedHashMap<>();
+            archive.put("file", currentArchive.getFileName().toString());
+            archive.put("messages", archiveMessages);
+            archive.put("bytesRead", archiveBytesRead);
+            archive.put("totalBytes", archiveTotalBytes);
+            summary.put("archive", archive);
+        }
+        if (errorMessage != null) {
+            summary.put("error", errorMessage);
+        }
+        if (includeFiles) {
+            summary.put("files", List.copyOf(fileOutcomes));
+            summary.put("filesTruncated", fileOutcomesTruncated);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,203 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs folder ingestion as background jobs so HTTP requests return right away.
+ * Jobs run one at a time on a dedicated thread; progress is pushed to SSE subscribers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IngestionJobService {
+
+    private final FileBasedEmailService emailService;
+
+    @Value("${app.ingestion.jobs.retained:50}")
+    private int retainedJobs;
+
+    @Value("${app.ingestion.jobs.max.file.outcomes:5000}")
+    private int maxFileOutcomes;
+
+    // Minimum gap between two SSE progress events of the same job
+    @Value("${app.ingestion.jobs.progress.interval.ms:500}")
+    private long progressIntervalMillis;
+
+    // Insertion order = submission order, used to evict the oldest finished jobs
+    private final Map<String, IngestionJob> jobs = new LinkedHashMap<>();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastProgressEvent = new ConcurrentHashMap<>();
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ingestion-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        jobs().forEach(IngestionJob::requestCancel);
+        jobExecutor.shutdownNow();
+    }
+
+    public IngestionJob submitFolderScan() {
+        String jobId = UUID.randomUUID().toString();
+        IngestionJob job = new IngestionJob(jobId, maxFileOutcomes, () -> publishProgress(jobId, false));
+        synchronized (jobs) {
+            jobs.put(jobId, job);
+            evictFinishedJobs();
+        }
+        jobExecutor.execute(() -> runJob(job));
+        log.info("📨 Queued ingestion job {}", jobId);
+        return job;
+    }
+
+    public Optional<IngestionJob> getJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId));
+        }
+    }
+
+    public List<IngestionJob> jobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * Ask a job to stop; files already being parsed or persisted are finished first
+     */
+    public Optional<IngestionJob> cancel(String jobId) {
+        Optional<IngestionJob> job = getJob(jobId);
+        job.ifPresent(j -> {
+            if (!j.getStatus().isFinished()) {
+                j.requestCancel();
+                log.info("🛑 Cancellation requested for ingestion job {}", jobId);
+            }
+        });
+        return job;
+    }
+
+    /**
+     * Stream "progress" events while the job runs and a final "finished" event
+     */
+    public Optional<SseEmitter> subscribe(String jobId) {
+        Optional<IngestionJob> job = getJob(jobId);
+        if (job.isEmpty()) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        // Current state straight away; a subscriber to a finished job just gets the final event
+        IngestionJob current = job.get();
+        publishTo(emitter, current.getStatus().isFinished() ? "finished" : "progress", current.toSummary(false));
+        if (current.getStatus().isFinished()) {
+            emitter.complete();
+        }
+        return Optional.of(emitter);
+    }
+
+    private void runJob(IngestionJob job) {
+        if (job.isCancelled()) {
+            job.markFinished(IngestionJob.Status.CANCELLED, null);
+            publishProgress(job.getId(), true);
+            return;
+        }
+
+        job.markRunning();
+        publishProgress(job.getId(), false);
+        try {
+            emailService.processAllEmails(job);
+            job.markFinished(job.isCancelled() ? IngestionJob.Status.CANCELLED : IngestionJob.Status.COMPLETED, null);
+            log.info("✅ Ingestion job {} finished: {}", job.getId(), job.getStatus());
+        } catch (Exception e) {
+            log.error("❌ Ingestion job {} failed: {}", job.getId(), e.getMessage());
+            job.markFinished(IngestionJob.Status.FAILED, e.getMessage());
+        }
+        publishProgress(job.getId(), true);
+    }
+
+    private void publishProgress(String jobId, boolean finished) {
+        List<SseEmitter> emitters = subscribers.get(jobId);
+        if (emitters == null || emitters.isEmpty()) {
+            if (finished) {
+                subscribers.remove(jobId);
+                lastProgressEvent.remove(jobId);
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!finished) {
+            Long last = lastProgressEvent.get(jobId);
+            if (last != null && now - last < progressIntervalMillis) {
+                return;
+            }
+        }
+        lastProgressEvent.put(jobId, now);
+
+        Optional<IngestionJob> job = getJob(jobId);
+        if (job.isEmpty()) {
+            return;
+        }
+        Map<String, Object> summary = job.get().toSummary(false);
+        for (SseEmitter emitter : emitters) {
+            publishTo(emitter, finished ? "finished" : "progress", summary);
+            if (finished) {
+                emitter.complete();
+            }
+        }
+        if (finished) {
+            subscribers.remove(jobId);
+            lastProgressEvent.remove(jobId);
+        }
+    }
+
+    private void publishTo(SseEmitter emitter, String eventName, Map<String, Object> summary) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(summary));
+        } catch (IOException e) {
+            // Client went away; the completion callbacks drop the emitter
+            emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            log.debug("SSE emitter already completed: {}", e.getMessage());
+        }
+    }
+
+    // Caller holds the jobs lock
+    private void evictFinishedJobs() {
+        int excess = jobs.size() - Math.max(1, retainedJobs);
+        Iterator<IngestionJob> iterator = jobs.values().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            if (iterator.next().getStatus().isFinished()) {
+                iterator.remove();
+                excess--;
+            }
+        }
+    }
+}
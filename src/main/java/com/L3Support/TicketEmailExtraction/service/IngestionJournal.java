@@ -0,0 +1,210 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of where each ingested file is in the pipeline, so a crash between the
+ * database commit and the file move can be finished (or rolled back) on the next start.
+ * Records are buffered and fsynced in batches; callers sync before anything that must
+ * survive a crash (a batch commit, a move). The file is truncated whenever nothing is in flight.
+ */
+@Service
+@Slf4j
+public class IngestionJournal {
+
+    public enum State {
+        CLAIMED, PARSED, PERSISTED, MOVED, ERRORED, RELEASED;
+
+        public boolean isTerminal() {
+            return this == MOVED || this == ERRORED || this == RELEASED;
+        }
+    }
+
+    @Value("${app.ingestion.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ingestion.journal.file:./emails/ingestion.journal}")
+    private String journalFilePath;
+
+    private FileChannel channel;
+    private final StringBuilder buffer = new StringBuilder();
+    // Last known state of every file that has not reached a terminal state
+    private final Map<String, State> openEntries = new HashMap<>();
+    // Entries left unfinished by the previous run, until recovery picks them up
+    private List<PendingEntry> recoveredEntries = List.of();
+
+    @PostConstruct
+    synchronized void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path journalPath = Paths.get(journalFilePath);
+            if (journalPath.getParent() != null) {
+                Files.createDirectories(journalPath.getParent());
+            }
+            if (Files.exists(journalPath)) {
+                recoveredEntries = readPendingEntries(journalPath);
+            }
+            channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("❌ Could not open ingestion journal {}: {}", journalFilePath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        sync();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error closing ingestion journal: {}", e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Files the previous run left in a non-terminal state. Call {@link #reset()} once they are resolved.
+     */
+    public synchronized List<PendingEntry> getRecoveredEntries() {
+        return recoveredEntries;
+    }
+
+    /**
+     * Discard all history; used once startup recovery has resolved the previous run
+     */
+    public synchronized void reset() {
+        recoveredEntries = List.of();
+        openEntries.clear();
+        buffer.setLength(0);
+        truncate();
+    }
+
+    public void record(Path file, State state) {
+        record(file, state, null);
+    }
+
+    /**
+     * Buffer a state change; it is durable only after the next {@link #sync()}
+     */
+    public synchronized void record(Path file, State state, String detail) {
+        if (channel == null) {
+            return;
+        }
+        String key = keyOf(file);
+        if (state.isTerminal()) {
+            openEntries.remove(key);
+        } else {
+            openEntries.put(key, state);
+        }
+        buffer.append(state).append('\t').append(key).append('\t').append(sanitize(detail)).append('\n');
+    }
+
+    /**
+     * Mark files that were claimed but never stored as released, e.g. after an interrupted run
+     */
+    public synchronized void releaseUnfinished(Collection<Path> files) {
+        for (Path file : files) {
+            State state = openEntries.get(keyOf(file));
+            if (state == State.CLAIMED || state == State.PARSED) {
+                record(file, State.RELEASED, "unfinished");
+            }
+        }
+    }
+
+    /**
+     * Write and fsync everything buffered so far; compacts the journal when nothing is in flight
+     */
+    public synchronized void sync() {
+        if (channel == null || buffer.isEmpty()) {
+            return;
+        }
+        if (openEntries.isEmpty()) {
+            // Everything buffered is already finished; no need to write it at all
+            buffer.setLength(0);
+            truncate();
+            return;
+        }
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+            buffer.setLength(0);
+        } catch (IOException e) {
+            log.error("❌ Could not write ingestion journal: {}", e.getMessage());
+        }
+    }
+
+    private void truncate() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.truncate(0);
+            channel.force(false);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not compact ingestion journal: {}", e.getMessage());
+        }
+    }
+
+    private List<PendingEntry> readPendingEntries(Path journalPath) throws IOException {
+        Map<String, PendingEntry> lastState = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            String[] parts = line.split("\t", 3);
+            if (parts.length < 2) {
+                // Torn write at the tail of the journal
+                continue;
+            }
+            try {
+                State state = State.valueOf(parts[0]);
+                String detail = parts.length > 2 && !parts[2].isEmpty() ? parts[2] : null;
+                lastState.put(parts[1], new PendingEntry(Paths.get(parts[1]), state, detail));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring malformed journal line: {}", line);
+            }
+        }
+        List<PendingEntry> pending = new ArrayList<>();
+        for (PendingEntry entry : lastState.values()) {
+            if (!entry.state().isTerminal()) {
+                pending.add(entry);
+            }
+        }
+        return pending;
+    }
+
+    private static String keyOf(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    private static String sanitize(String detail) {
+        return detail == null ? "" : detail.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    public record PendingEntry(Path file, State state, String detail) {
+    }
+}
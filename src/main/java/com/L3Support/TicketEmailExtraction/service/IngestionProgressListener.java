@@ -0,0 +1,47 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.nio.file.Path;
+
+/**
+ * Callbacks from an ingestion run. Progress callbacks come from the thread driving the run;
+ * {@link #isCancelled()} is also polled by the parse workers.
+ */
+public interface IngestionProgressListener {
+
+    IngestionProgressListener NONE = new IngestionProgressListener() {
+    };
+
+    enum FileOutcome {
+        PROCESSED, DUPLICATE, SKIPPED, ERROR, CANCELLED
+    }
+
+    /**
+     * The files of the run are known; totalFiles excludes files owned by another run
+     */
+    default void onRunStarted(int totalFiles) {
+    }
+
+    default void onFileCompleted(Path file, FileOutcome outcome, String detail) {
+    }
+
+    /**
+     * One message of an archive was handled. Archive messages are items of the run just like
+     * single files; bytesRead of totalBytes tells how far into the archive the reader is
+     */
+    default void onArchiveMessageCompleted(Path archive, FileOutcome outcome, long bytesRead, long totalBytes) {
+    }
+
+    /**
+     * An archive was read to the end. Its messages were reported one by one, so the archive
+     * itself is not another item; archives that could not be read are reported as files instead
+     */
+    default void onArchiveCompleted(Path archive, FileOutcome outcome, String detail) {
+    }
+
+    /**
+     * Polled by the run; once true, files not yet parsed are left in the input folder
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,187 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.utils.EmailFingerprint;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded LRU cache of text-email parse results, keyed by a hash of the normalized content,
+ * so a retried or duplicate submission costs a hash lookup instead of a full parse. The fuzzy
+ * thresholds take part in the key, and every entry is dropped when a contributor changes,
+ * since the contributor lookup depends on the contributor list. A parse that was running
+ * while the cache was cleared is not cached, and a received date that may be the parser's
+ * fallback to today is only reused on the day it was parsed.
+ */
+@Service
+@Slf4j
+public class TextEmailParseCache {
+
+    @Value("${app.parse.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.parse.cache.max.entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.fuzzy.project.similarity.threshold:0.75}")
+    private double projectSimilarityThreshold;
+
+    @Value("${app.fuzzy.priority.similarity.threshold:0.80}")
+    private double prioritySimilarityThreshold;
+
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Bumped by every invalidation, guarded by entries
+    private long generation;
+
+    /**
+     * Parse result of the content, from the cache if the same content was parsed before.
+     * Line endings are normalized before hashing and parsing, so a retry that only differs in
+     * CRLF vs LF is a hit. Each call returns a new Ticket that the caller may save.
+     */
+    public Ticket getOrParse(String content, Function<String, Ticket> parser) {
+        String normalized = normalize(content);
+        if (!enabled) {
+            return parser.apply(normalized);
+        }
+
+        String key = EmailFingerprint.sha256Hex(projectSimilarityThreshold + "|" + prioritySimilarityThreshold + "\n" + normalized);
+        LocalDate today = LocalDate.now();
+        Entry cached;
+        long generationBefore;
+        synchronized (entries) {
+            cached = entries.get(key);
+            generationBefore = generation;
+        }
+        if (cached != null && cached.isCurrent(today)) {
+            hits.incrementAndGet();
+            log.info("♻️ Parse cache hit for email content {}", key.substring(0, 12));
+            return copyOf(cached.ticket());
+        }
+
+        misses.incrementAndGet();
+        Ticket parsed = parser.apply(normalized);
+        if (parsed != null) {
+            synchronized (entries) {
+                // Parsed against the old contributor list if the cache was cleared meanwhile
+                if (generation == generationBefore && today.equals(LocalDate.now())) {
+                    entries.put(key, new Entry(copyOf(parsed), today));
+                }
+            }
+        }
+        return parsed;
+    }
+
+    // After the contributor directory has picked up the change
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContributorChanged(ContributorChangedEvent event) {
+        log.info("🧹 Contributor {} {}, clearing parse cache", event.contributorId(), event.change());
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            generation++;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(enabled, size, maxEntries, hits.get(), misses.get(), evictions.get(), invalidations.get());
+    }
+
+    // The fields the text parser fills, copied so cached entries never become managed entities
+    private static Ticket copyOf(Ticket ticket) {
+        return Ticket.builder()
+            .ticketSummary(ticket.getTicketSummary())
+            .issueDescription(ticket.getIssueDescription())
+            .project(ticket.getProject())
+            .priority(ticket.getPriority())
+            .bugType(ticket.getBugType())
+            .status(ticket.getStatus())
+            .contributor(ticket.getContributor())
+            .contributorName(ticket.getContributorName())
+            .ticketOwner(ticket.getTicketOwner())
+            .receivedDate(ticket.getReceivedDate())
+            .impact(ticket.getImpact())
+            .build();
+    }
+
+    private record Entry(Ticket ticket, LocalDate parsedOn) {
+
+        // A received date equal to the parse day may be the parser's "no Sent header, use today"
+        // fallback, which is wrong on any later day; other dates came from the email itself
+        boolean isCurrent(LocalDate today) {
+            return !parsedOn.equals(ticket.getReceivedDate()) || parsedOn.equals(today);
+        }
+    }
+
+    private static String normalize(String content) {
+        return content.indexOf('\r') < 0 ? content : content.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    public static class CacheStats {
+        private final boolean enabled;
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        CacheStats(boolean enabled, int size, int maxEntries, long hits, long misses, long evictions, long invalidations) {
+            this.enabled = enabled;
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public boolean isEnabled() { return enabled; }
+        public int getSize() { return size; }
+        public int getMaxEntries() { return maxEntries; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
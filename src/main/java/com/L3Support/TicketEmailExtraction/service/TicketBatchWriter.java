@@ -0,0 +1,85 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.repository.TicketRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes parsed tickets in batches: one transaction and one JDBC batch per call.
+ * If the batch fails (e.g. a unique constraint), the tickets are retried one by one
+ * so a single bad row does not take the rest of the batch down with it.
+ */
+@Service
+@Slf4j
+public class TicketBatchWriter {
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TicketBatchWriter(TicketRepository ticketRepository, PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BatchWriteResult saveBatch(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return new BatchWriteResult(List.of(), Map.of());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ticketRepository.saveAll(tickets);
+                ticketRepository.flush();
+            });
+            log.debug("💾 Saved batch of {} tickets", tickets.size());
+            return new BatchWriteResult(tickets, Map.of());
+        } catch (Exception e) {
+            log.warn("⚠️ Batch insert of {} tickets failed ({}), retrying individually", tickets.size(), e.getMessage());
+            return saveIndividually(tickets);
+        }
+    }
+
+    private BatchWriteResult saveIndividually(List<Ticket> tickets) {
+        List<Ticket> saved = new ArrayList<>();
+        Map<Ticket, String> failures = new IdentityHashMap<>();
+
+        for (Ticket ticket : tickets) {
+            // IDs handed out to the rolled back batch are discarded
+            ticket.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> ticketRepository.saveAndFlush(ticket));
+                saved.add(ticket);
+            } catch (Exception e) {
+                ticket.setId(null);
+                failures.put(ticket, e.getMessage());
+            }
+        }
+        return new BatchWriteResult(saved, failures);
+    }
+
+    public static class BatchWriteResult {
+        private final List<Ticket> savedTickets;
+        private final Map<Ticket, String> failures;
+
+        public BatchWriteResult(List<Ticket> savedTickets, Map<Ticket, String> failures) {
+            this.savedTickets = savedTickets;
+            this.failures = failures;
+        }
+
+        public List<Ticket> getSavedTickets() { return savedTickets; }
+
+        public boolean isSaved(Ticket ticket) { return !failures.containsKey(ticket); }
+
+        public String getFailure(Ticket ticket) { return failures.get(ticket); }
+    }
+}
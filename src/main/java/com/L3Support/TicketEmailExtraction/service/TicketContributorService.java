@@ -2,17 +2,26 @@ package com.L3Support.TicketEmailExtraction.service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 
 import com.L3Support.TicketEmailExtraction.model.Contributor;
 import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.model.TicketContributor;
 import com.L3Support.TicketEmailExtraction.repository.ContributorRepository;
+import com.L3Support.TicketEmailExtraction.repository.TicketContributorRepository;
 import com.L3Support.TicketEmailExtraction.repository.TicketRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -26,6 +35,8 @@ public class TicketContributorService {
 
     private final ContributorRepository contributorRepository;
     private final TicketRepository ticketRepository;
+    private final TicketContributorRepository ticketContributorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Assign contributor to ticket by contributor ID
@@ -78,6 +89,7 @@ public class TicketContributorService {
             ticket.setContributor(saved);
             ticket.setContributorName(saved.getName());
             log.info("Created new contributor: {}", saved.getName());
+            eventPublisher.publishEvent(new ContributorChangedEvent(saved.getId(), "created"));
         }
         
         ticketRepository.save(ticket);
@@ -135,38 +147,10 @@ public class TicketContributorService {
         log.info("Completed migration of ticket contributors");
     }
 
-    // ==================== Multiple Contributors Support (Comma-Separated IDs) ====================
+    // ==================== Multiple Contributors Support (ticket_contributor) ====================
 
     /**
-     * Utility method: Convert comma-separated string to List of Long IDs
-     */
-    private List<Long> parseContributorIds(String contributorIds) {
-        if (!StringUtils.hasText(contributorIds)) {
-            return new ArrayList<>();
-        }
-        
-        return Arrays.stream(contributorIds.split(","))
-                .map(String::trim)
-                .filter(StringUtils::hasText)
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Utility method: Convert List of Long IDs to comma-separated string
-     */
-    private String formatContributorIds(List<Long> contributorIds) {
-        if (contributorIds == null || contributorIds.isEmpty()) {
-            return null;
-        }
-        
-        return contributorIds.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
-    }
-
-    /**
-     * Add multiple contributors to a ticket using comma-separated IDs
+     * Add multiple contributors to a ticket, keeping the ones already assigned
      */
     public void addContributorsToTicket(Long ticketId, List<Long> newContributorIds) {
         log.debug("Adding {} contributors to ticket {}", newContributorIds.size(), ticketId);
@@ -174,29 +158,21 @@ public class TicketContributorService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new IllegalArgumentException("Ticket not found with ID: " + ticketId));
         
-        // Validate all contributor IDs exist
-        for (Long contributorId : newContributorIds) {
-            if (!contributorRepository.existsById(contributorId)) {
-                throw new IllegalArgumentException("Contributor not found with ID: " + contributorId);
-            }
-        }
-        
-        // Get existing contributor IDs
-        List<Long> existingIds = parseContributorIds(ticket.getContributorIds());
+        Map<Long, Contributor> contributors = findContributorsById(newContributorIds);
+        Set<Long> existingIds = new HashSet<>(ticketContributorRepository.findContributorIdsByTicketId(ticketId));
         
         // Add new IDs that don't already exist
-        for (Long newId : newContributorIds) {
-            if (!existingIds.contains(newId)) {
-                existingIds.add(newId);
+        for (Long newId : new LinkedHashSet<>(newContributorIds)) {
+            if (existingIds.add(newId)) {
+                ticketContributorRepository.save(TicketContributor.builder()
+                        .ticket(ticket)
+                        .contributor(contributors.get(newId))
+                        .build());
                 log.info("Added contributor {} to ticket {}", newId, ticketId);
             } else {
                 log.debug("Contributor {} already assigned to ticket {}", newId, ticketId);
             }
         }
-        
-        // Update the ticket with the new comma-separated string
-        ticket.setContributorIds(formatContributorIds(existingIds));
-        ticketRepository.save(ticket);
     }
 
     /**
@@ -212,14 +188,9 @@ public class TicketContributorService {
     public void removeContributorFromTicket(Long ticketId, Long contributorId) {
         log.debug("Removing contributor {} from ticket {}", contributorId, ticketId);
         
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new IllegalArgumentException("Ticket not found with ID: " + ticketId));
-        
-        List<Long> existingIds = parseContributorIds(ticket.getContributorIds());
+        requireTicket(ticketId);
         
-        if (existingIds.remove(contributorId)) {
-            ticket.setContributorIds(formatContributorIds(existingIds));
-            ticketRepository.save(ticket);
+        if (ticketContributorRepository.deleteByTicketIdAndContributorId(ticketId, contributorId) > 0) {
             log.info("Successfully removed contributor {} from ticket {}", contributorId, ticketId);
         } else {
             log.warn("Contributor {} was not assigned to ticket {}", contributorId, ticketId);
@@ -232,14 +203,8 @@ public class TicketContributorService {
     public void removeAllContributorsFromTicket(Long ticketId) {
         log.debug("Removing all contributors from ticket {}", ticketId);
         
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new IllegalArgumentException("Ticket not found with ID: " + ticketId));
-        
-        List<Long> existingIds = parseContributorIds(ticket.getContributorIds());
-        int count = existingIds.size();
-        
-        ticket.setContributorIds(null);
-        ticketRepository.save(ticket);
+        requireTicket(ticketId);
+        int count = ticketContributorRepository.deleteByTicketId(ticketId);
         
         log.info("Successfully removed {} contributors from ticket {}", count, ticketId);
     }
@@ -253,15 +218,15 @@ public class TicketContributorService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new IllegalArgumentException("Ticket not found with ID: " + ticketId));
         
-        // Validate all contributor IDs exist
-        for (Long contributorId : contributorIds) {
-            if (!contributorRepository.existsById(contributorId)) {
-                throw new IllegalArgumentException("Contributor not found with ID: " + contributorId);
-            }
-        }
+        Map<Long, Contributor> contributors = findContributorsById(contributorIds);
         
-        ticket.setContributorIds(formatContributorIds(contributorIds));
-        ticketRepository.save(ticket);
+        ticketContributorRepository.deleteByTicketId(ticketId);
+        for (Long contributorId : new LinkedHashSet<>(contributorIds)) {
+            ticketContributorRepository.save(TicketContributor.builder()
+                    .ticket(ticket)
+                    .contributor(contributors.get(contributorId))
+                    .build());
+        }
         
         log.info("Successfully replaced contributors for ticket {} with {} new contributors", ticketId, contributorIds.size());
     }
@@ -271,16 +236,35 @@ public class TicketContributorService {
      */
     @Transactional(readOnly = true)
     public List<Contributor> getContributorsForTicket(Long ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new IllegalArgumentException("Ticket not found with ID: " + ticketId));
-        
-        List<Long> contributorIds = parseContributorIds(ticket.getContributorIds());
-        
-        return contributorIds.stream()
-                .map(id -> contributorRepository.findById(id))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
+        requireTicket(ticketId);
+        return ticketContributorRepository.findContributorsByTicketId(ticketId);
+    }
+
+    /**
+     * Contributors of each of the given tickets, with two queries however many tickets there
+     * are: the assignments of all tickets, then every contributor they reference by ID.
+     * Tickets without contributors are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Contributor>> getContributorsForTickets(Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return Map.of();
+        }
+        List<TicketContributorRepository.Assignment> assignments = ticketContributorRepository.findAssignmentsByTicketIds(ticketIds);
+        Set<Long> contributorIds = assignments.stream()
+                .map(TicketContributorRepository.Assignment::getContributorId)
+                .collect(Collectors.toSet());
+        Map<Long, Contributor> contributors = contributorRepository.findAllById(contributorIds).stream()
+                .collect(Collectors.toMap(Contributor::getId, Function.identity()));
+        
+        Map<Long, List<Contributor>> contributorsByTicket = new HashMap<>();
+        for (TicketContributorRepository.Assignment assignment : assignments) {
+            Contributor contributor = contributors.get(assignment.getContributorId());
+            if (contributor != null) {
+                contributorsByTicket.computeIfAbsent(assignment.getTicketId(), id -> new ArrayList<>()).add(contributor);
+            }
+        }
+        return contributorsByTicket;
     }
 
     /**
@@ -288,13 +272,7 @@ public class TicketContributorService {
      */
     @Transactional(readOnly = true)
     public List<Ticket> getTicketsForContributor(Long contributorId) {
-        // Find all tickets where contributorIds contains the given contributorId
-        return ticketRepository.findAll().stream()
-                .filter(ticket -> {
-                    List<Long> ids = parseContributorIds(ticket.getContributorIds());
-                    return ids.contains(contributorId);
-                })
-                .collect(Collectors.toList());
+        return ticketContributorRepository.findTicketsByContributorId(contributorId);
     }
 
     /**
@@ -313,13 +291,7 @@ public class TicketContributorService {
      */
     @Transactional(readOnly = true)
     public boolean isContributorAssignedToTicket(Long ticketId, Long contributorId) {
-        Ticket ticket = ticketRepository.findById(ticketId).orElse(null);
-        if (ticket == null) {
-            return false;
-        }
-        
-        List<Long> contributorIds = parseContributorIds(ticket.getContributorIds());
-        return contributorIds.contains(contributorId);
+        return ticketContributorRepository.existsByTicketIdAndContributorId(ticketId, contributorId);
     }
 
     /**
@@ -327,13 +299,7 @@ public class TicketContributorService {
      */
     @Transactional(readOnly = true)
     public long countContributorsForTicket(Long ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId).orElse(null);
-        if (ticket == null) {
-            return 0;
-        }
-        
-        List<Long> contributorIds = parseContributorIds(ticket.getContributorIds());
-        return contributorIds.size();
+        return ticketContributorRepository.countByTicketId(ticketId);
     }
 
     /**
@@ -341,12 +307,7 @@ public class TicketContributorService {
      */
     @Transactional(readOnly = true)
     public long countTicketsForContributor(Long contributorId) {
-        return ticketRepository.findAll().stream()
-                .filter(ticket -> {
-                    List<Long> ids = parseContributorIds(ticket.getContributorIds());
-                    return ids.contains(contributorId);
-                })
-                .count();
+        return ticketContributorRepository.countByContributorId(contributorId);
     }
 
     /**
@@ -354,9 +315,25 @@ public class TicketContributorService {
      */
     @Transactional(readOnly = true)
     public List<Long> getContributorIdsForTicket(Long ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new IllegalArgumentException("Ticket not found with ID: " + ticketId));
-        
-        return parseContributorIds(ticket.getContributorIds());
+        requireTicket(ticketId);
+        return ticketContributorRepository.findContributorIdsByTicketId(ticketId);
+    }
+
+    private void requireTicket(Long ticketId) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new IllegalArgumentException("Ticket not found with ID: " + ticketId);
+        }
+    }
+
+    // All the contributors in one query; fails on the first ID that does not exist
+    private Map<Long, Contributor> findContributorsById(List<Long> contributorIds) {
+        Map<Long, Contributor> contributors = contributorRepository.findAllById(contributorIds).stream()
+                .collect(Collectors.toMap(Contributor::getId, Function.identity()));
+        for (Long contributorId : contributorIds) {
+            if (!contributors.containsKey(contributorId)) {
+                throw new IllegalArgumentException("Contributor not found with ID: " + contributorId);
+            }
+        }
+        return contributors;
     }
-}
\ No newline at end of file
+}
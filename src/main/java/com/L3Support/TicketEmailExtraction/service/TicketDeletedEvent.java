@@ -0,0 +1,7 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+/**
+ * Published when a ticket is deleted; listeners run once the delete has committed.
+ */
+public record TicketDeletedEvent(Long ticketId, String contentHash) {
+}
@@ -1,14 +1,19 @@
 package com.L3Support.TicketEmailExtraction.service;
 
-import java.util.List;
 import java.util.Optional;
 
 import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.model.TicketFilter;
+import com.L3Support.TicketEmailExtraction.model.TicketPage;
 import com.L3Support.TicketEmailExtraction.model.TicketResponse;
 
 public interface TicketService {
     
-    List<TicketResponse> getAllTickets();
+    /**
+     * One page of the tickets matching the filter, newest first; cursor is the nextCursor of
+     * the previous page (null for the first) and limit defaults to the configured page size
+     */
+    TicketPage getTickets(TicketFilter filter, String cursor, Integer limit);
     
     Optional<TicketResponse> getTicketById(Long id);
     
@@ -17,8 +22,4 @@ public interface TicketService {
     TicketResponse updateTicket(Long id, Ticket updatedTicket);
     
     void deleteTicket(Long id);
-    
-    List<TicketResponse> getTicketsByStatus(String status);
-    
-    List<TicketResponse> getTicketsByPriority(String priority);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,6 +12,7 @@ import com.L3Support.TicketEmailExtraction.model.Contributor;
 import com.L3Support.TicketEmailExtraction.model.ContributorRequest;
 import com.L3Support.TicketEmailExtraction.model.ContributorResponse;
 import com.L3Support.TicketEmailExtraction.repository.ContributorRepository;
+import com.L3Support.TicketEmailExtraction.service.ContributorChangedEvent;
 import com.L3Support.TicketEmailExtraction.service.ContributorService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +23,11 @@ import lombok.extern.slf4j.Slf4j;
 public class ContributorServiceImpl implements ContributorService {
 
     private final ContributorRepository contributorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ContributorServiceImpl(ContributorRepository contributorRepository) {
+    public ContributorServiceImpl(ContributorRepository contributorRepository, ApplicationEventPublisher eventPublisher) {
         this.contributorRepository = contributorRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -88,6 +92,7 @@ public class ContributorServiceImpl implements ContributorService {
 
         Contributor saved = contributorRepository.save(contributor);
         log.info("Created contributor with ID: {}", saved.getId());
+        eventPublisher.publishEvent(new ContributorChangedEvent(saved.getId(), "created"));
         
         return ContributorResponse.fromEntity(saved);
     }
@@ -120,6 +125,7 @@ public class ContributorServiceImpl implements ContributorService {
 
         Contributor updated = contributorRepository.save(contributor);
         log.info("Updated contributor with ID: {}", updated.getId());
+        eventPublisher.publishEvent(new ContributorChangedEvent(id, "updated"));
         
         return ContributorResponse.fromEntity(updated);
     }
@@ -135,6 +141,7 @@ public class ContributorServiceImpl implements ContributorService {
         contributorRepository.save(contributor);
         
         log.info("Soft deleted contributor with ID: {}", id);
+        eventPublisher.publishEvent(new ContributorChangedEvent(id, "deleted"));
     }
 
     @Override
@@ -147,6 +154,7 @@ public class ContributorServiceImpl implements ContributorService {
 
         contributorRepository.deleteById(id);
         log.info("Permanently deleted contributor with ID: {}", id);
+        eventPublisher.publishEvent(new ContributorChangedEvent(id, "deleted"));
     }
 
     @Override
@@ -160,6 +168,7 @@ public class ContributorServiceImpl implements ContributorService {
         Contributor updated = contributorRepository.save(contributor);
         
         log.info("Activated contributor with ID: {}", id);
+        eventPublisher.publishEvent(new ContributorChangedEvent(id, "activated"));
         return ContributorResponse.fromEntity(updated);
     }
 
@@ -174,6 +183,7 @@ public class ContributorServiceImpl implements ContributorService {
         Contributor updated = contributorRepository.save(contributor);
         
         log.info("Deactivated contributor with ID: {}", id);
+        eventPublisher.publishEvent(new ContributorChangedEvent(id, "deactivated"));
         return ContributorResponse.fromEntity(updated);
     }
 
@@ -1,21 +1,34 @@
 package com.L3Support.TicketEmailExtraction.serviceImpl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import com.L3Support.TicketEmailExtraction.model.Contributor;
-import com.L3Support.TicketEmailExtraction.model.Priority;
-import com.L3Support.TicketEmailExtraction.model.Status;
 import com.L3Support.TicketEmailExtraction.model.Ticket;
+import com.L3Support.TicketEmailExtraction.model.TicketFilter;
+import com.L3Support.TicketEmailExtraction.model.TicketListResponse;
+import com.L3Support.TicketEmailExtraction.model.TicketListView;
+import com.L3Support.TicketEmailExtraction.model.TicketPage;
 import com.L3Support.TicketEmailExtraction.model.TicketResponse;
 import com.L3Support.TicketEmailExtraction.repository.ContributorRepository;
 import com.L3Support.TicketEmailExtraction.repository.TicketRepository;
 import com.L3Support.TicketEmailExtraction.service.TicketContributorService;
+import com.L3Support.TicketEmailExtraction.service.TicketDeletedEvent;
 import com.L3Support.TicketEmailExtraction.service.TicketService;
+import com.L3Support.TicketEmailExtraction.utils.TicketCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,18 +42,31 @@ public class TicketServiceImpl implements TicketService {
     private final TicketRepository ticketRepository;
     private final ContributorRepository contributorRepository;
     private final TicketContributorService ticketContributorService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.tickets.page.size:100}")
+    private int defaultPageSize;
+    
+    @Value("${app.tickets.page.max.size:1000}")
+    private int maxPageSize;
     
     @Override
     @Transactional(readOnly = true)
-    public List<TicketResponse> getAllTickets() {
-        log.debug("Fetching all tickets");
+    public TicketPage getTickets(TicketFilter filter, String cursor, Integer limit) {
+        int pageSize = limit != null ? Math.max(1, Math.min(limit, maxPageSize)) : defaultPageSize;
+        Long beforeId = StringUtils.hasText(cursor) ? TicketCursor.decode(cursor) : null;
+        log.debug("Fetching {} tickets before ID {} matching {}", pageSize, beforeId, filter);
         try {
-            List<Ticket> tickets = ticketRepository.findAllWithContributors();
-            return tickets.stream()
-                    .map(this::convertToTicketResponseWithMultipleContributors)
-                    .collect(Collectors.toList());
+            // One extra row tells whether there is a next page
+            List<TicketListView> tickets = ticketRepository.findPage(filter, beforeId, pageSize + 1);
+            String nextCursor = null;
+            if (tickets.size() > pageSize) {
+                tickets = tickets.subList(0, pageSize);
+                nextCursor = TicketCursor.encode(tickets.get(pageSize - 1).id());
+            }
+            return new TicketPage(convertToListResponses(tickets), nextCursor);
         } catch (Exception e) {
-            log.error("Error fetching all tickets", e);
+            log.error("Error fetching tickets matching {}", filter, e);
             throw new RuntimeException("Failed to fetch tickets", e);
         }
     }
@@ -63,6 +89,7 @@ public class TicketServiceImpl implements TicketService {
         log.debug("Creating new ticket: {}", ticket.getTicketSummary());
         try {
             Ticket saved = ticketRepository.save(ticket);
+            updateMultipleContributors(saved, ticket);
             log.info("Created ticket with ID: {}", saved.getId());
             return convertToTicketResponseWithMultipleContributors(saved);
         } catch (Exception e) {
@@ -111,10 +138,11 @@ public class TicketServiceImpl implements TicketService {
     public void deleteTicket(Long id) {
         log.debug("Deleting ticket with ID: {}", id);
         try {
-            if (!ticketRepository.existsById(id)) {
-                throw new IllegalArgumentException("Ticket not found with ID: " + id);
-            }
-            ticketRepository.deleteById(id);
+            Ticket ticket = ticketRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Ticket not found with ID: " + id));
+            ticketRepository.delete(ticket);
+            // The fingerprint index releases the email's content hash once this commits
+            eventPublisher.publishEvent(new TicketDeletedEvent(id, ticket.getContentHash()));
             log.info("Deleted ticket with ID: {}", id);
         } catch (Exception e) {
             log.error("Error deleting ticket with ID: {}", id, e);
@@ -122,38 +150,6 @@ public class TicketServiceImpl implements TicketService {
         }
     }
     
-    @Override
-    @Transactional(readOnly = true)
-    public List<TicketResponse> getTicketsByStatus(String status) {
-        log.debug("Fetching tickets by status: {}", status);
-        try {
-            Status statusEnum = Status.valueOf(status.toUpperCase());
-            List<Ticket> tickets = ticketRepository.findByStatusWithContributors(statusEnum);
-            return tickets.stream()
-                    .map(this::convertToTicketResponseWithMultipleContributors)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error fetching tickets by status: {}", status, e);
-            throw new RuntimeException("Failed to fetch tickets by status: " + status, e);
-        }
-    }
-    
-    @Override
-    @Transactional(readOnly = true)
-    public List<TicketResponse> getTicketsByPriority(String priority) {
-        log.debug("Fetching tickets by priority: {}", priority);
-        try {
-            Priority priorityEnum = Priority.valueOf(priority.toUpperCase());
-            List<Ticket> tickets = ticketRepository.findByPriorityWithContributors(priorityEnum);
-            return tickets.stream()
-                    .map(this::convertToTicketResponseWithMultipleContributors)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error fetching tickets by priority: {}", priority, e);
-            throw new RuntimeException("Failed to fetch tickets by priority: " + priority, e);
-        }
-    }
-    
     /**
      * Helper method to handle contributor updates with multiple input formats
      */
@@ -214,35 +210,60 @@ public class TicketServiceImpl implements TicketService {
      * Helper method to handle multiple contributors updates
      */
     private void updateMultipleContributors(Ticket existingTicket, Ticket updatedTicket) {
+        List<Long> requestedIds;
         // Priority 1: contributorIdsList is provided (from frontend)
         if (updatedTicket.getContributorIdsList() != null) {
-            if (updatedTicket.getContributorIdsList().isEmpty()) {
-                // Empty list means remove all contributors
-                existingTicket.setContributorIds(null);
-                log.debug("Removed all multiple contributors from ticket");
-            } else {
-                // Validate all contributor IDs exist
-                for (Long contributorId : updatedTicket.getContributorIdsList()) {
-                    if (!contributorRepository.existsById(contributorId)) {
-                        log.warn("Contributor not found with ID: {}. Skipping.", contributorId);
-                        continue;
-                    }
-                }
-                
-                // Convert list to comma-separated string
-                String contributorIdsStr = updatedTicket.getContributorIdsList().stream()
-                        .map(String::valueOf)
-                        .collect(Collectors.joining(","));
-                existingTicket.setContributorIds(contributorIdsStr);
-                log.debug("Updated multiple contributors to: {}", contributorIdsStr);
-            }
+            requestedIds = updatedTicket.getContributorIdsList();
         }
         // Priority 2: contributorIds string is provided directly
         else if (updatedTicket.getContributorIds() != null) {
-            existingTicket.setContributorIds(updatedTicket.getContributorIds());
-            log.debug("Updated contributor IDs string to: {}", updatedTicket.getContributorIds());
+            requestedIds = Arrays.stream(updatedTicket.getContributorIds().split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .map(Long::parseLong)
+                    .collect(Collectors.toList());
         }
         // Otherwise: preserve existing values (no multiple contributors update requested)
+        else {
+            return;
+        }
+        
+        // Unknown contributor IDs are skipped; an empty list removes all contributors
+        Set<Long> knownIds = contributorRepository.findAllById(requestedIds).stream()
+                .map(Contributor::getId)
+                .collect(Collectors.toSet());
+        List<Long> contributorIds = new ArrayList<>();
+        for (Long contributorId : requestedIds) {
+            if (knownIds.contains(contributorId)) {
+                contributorIds.add(contributorId);
+            } else {
+                log.warn("Contributor not found with ID: {}. Skipping.", contributorId);
+            }
+        }
+        ticketContributorService.replaceContributorsForTicket(existingTicket.getId(), contributorIds);
+        log.debug("Updated multiple contributors to: {}", contributorIds);
+    }
+    
+    /**
+     * Helper method to convert a page of list views, loading the contributors of all of them
+     * at once instead of per ticket
+     */
+    private List<TicketListResponse> convertToListResponses(List<TicketListView> tickets) {
+        List<Long> ticketIds = tickets.stream()
+                .map(TicketListView::id)
+                .collect(Collectors.toList());
+        Map<Long, List<Contributor>> contributorsByTicket = ticketContributorService.getContributorsForTickets(ticketIds);
+        Set<Long> legacyContributorIds = tickets.stream()
+                .map(TicketListView::contributorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Contributor> legacyContributors = contributorRepository.findAllById(legacyContributorIds).stream()
+                .collect(Collectors.toMap(Contributor::getId, Function.identity()));
+        return tickets.stream()
+                .map(ticket -> TicketListResponse.fromView(ticket,
+                        ticket.contributorId() != null ? legacyContributors.get(ticket.contributorId()) : null,
+                        contributorsByTicket.getOrDefault(ticket.id(), List.of())))
+                .collect(Collectors.toList());
     }
     
     /**
@@ -0,0 +1,174 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton: finds every occurrence of a fixed set of patterns in one pass
+ * over the text, regardless of how many patterns there are. Immutable and thread-safe
+ * once built.
+ */
+public final class AhoCorasickMatcher {
+
+    /**
+     * Receives each match; return false to stop scanning
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+        boolean onMatch(int patternIndex, int start, int end);
+    }
+
+    private final List<String> patterns;
+    private final boolean ignoreCase;
+
+    // Per state: sorted transition characters and their target states
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Per state: indexes of all patterns ending here (including via failure links)
+    private final int[][] outputs;
+
+    public AhoCorasickMatcher(List<String> patterns, boolean ignoreCase) {
+        this.patterns = List.copyOf(patterns);
+        this.ignoreCase = ignoreCase;
+
+        List<List<Character>> chars = new ArrayList<>();
+        List<List<Integer>> targets = new ArrayList<>();
+        List<List<Integer>> outs = new ArrayList<>();
+        chars.add(new ArrayList<>());
+        targets.add(new ArrayList<>());
+        outs.add(new ArrayList<>());
+
+        // Build the trie
+        for (int p = 0; p < this.patterns.size(); p++) {
+            String pattern = this.patterns.get(p);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = normalize(pattern.charAt(i));
+                int index = chars.get(state).indexOf(c);
+                if (index >= 0) {
+                    state = targets.get(state).get(index);
+                } else {
+                    int next = chars.size();
+                    chars.add(new ArrayList<>());
+                    targets.add(new ArrayList<>());
+                    outs.add(new ArrayList<>());
+                    chars.get(state).add(c);
+                    targets.get(state).add(next);
+                    state = next;
+                }
+            }
+            outs.get(state).add(p);
+        }
+
+        int stateCount = chars.size();
+        edgeChars = new char[stateCount][];
+        edgeTargets = new int[stateCount][];
+        for (int s = 0; s < stateCount; s++) {
+            List<Character> stateChars = chars.get(s);
+            List<Integer> stateTargets = targets.get(s);
+            Integer[] order = new Integer[stateChars.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Character.compare(stateChars.get(a), stateChars.get(b)));
+            edgeChars[s] = new char[order.length];
+            edgeTargets[s] = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                edgeChars[s][i] = stateChars.get(order[i]);
+                edgeTargets[s][i] = stateTargets.get(order[i]);
+            }
+        }
+
+        // Failure links, breadth first so shorter suffixes are resolved first
+        failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[0]) {
+            failure[target] = 0;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != 0 && transition(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int fallbackTarget = transition(fallback, c);
+                failure[child] = fallbackTarget >= 0 && fallbackTarget != child ? fallbackTarget : 0;
+                outs.get(child).addAll(outs.get(failure[child]));
+                queue.add(child);
+            }
+        }
+
+        outputs = new int[stateCount][];
+        for (int s = 0; s < stateCount; s++) {
+            outputs[s] = outs.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Report every match in the text (overlapping matches included) in order of end position
+     */
+    public void scan(CharSequence text, MatchListener listener) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalize(text.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+
+            for (int patternIndex : outputs[state]) {
+                int end = i + 1;
+                if (!listener.onMatch(patternIndex, end - patterns.get(patternIndex).length(), end)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public boolean containsAny(CharSequence text) {
+        boolean[] found = new boolean[1];
+        scan(text, (patternIndex, start, end) -> {
+            found[0] = true;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Which patterns occur at least once in the text, indexed like the pattern list
+     */
+    public boolean[] findPresent(CharSequence text) {
+        boolean[] present = new boolean[patterns.size()];
+        scan(text, (patternIndex, start, end) -> {
+            present[patternIndex] = true;
+            return true;
+        });
+        return present;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(edgeChars[state], c);
+        return index >= 0 ? edgeTargets[state][index] : -1;
+    }
+
+    private char normalize(char c) {
+        return ignoreCase ? Character.toLowerCase(c) : c;
+    }
+}
@@ -0,0 +1,170 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Recognizes the date in an email's Sent/Date header. The shape of the text is classified
+ * first with a single character scan (ISO, slashes, day before month name, month name before
+ * day, with or without a weekday prefix as in RFC 2822), and exactly one of a few statically
+ * built formatters is then run on the date part. Parsing is done with parseUnresolved and the
+ * date is validated by hand, so unrecognized text costs no exceptions. Times and zones are
+ * ignored: only the calendar date is kept, as before.
+ *
+ * Recognized, with anything after the date ignored:
+ * "12 July 2025 10:26", "Mon, 15 Jul 2025 15:21:00 +0000", "Friday, July 11, 2025 11:25 AM",
+ * "July 11 2025", "2025-07-15 15:21", "15/07/2025" (day first unless that is impossible).
+ */
+public final class DateRecognizer {
+
+    // "12 July 2025", "15 Jul 2025"
+    private static final DateTimeFormatter DAY_MONTH_YEAR = new DateTimeFormatterBuilder()
+        .parseCaseInsensitive()
+        .appendValue(ChronoField.DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE)
+        .appendLiteral(' ')
+        .optionalStart().appendText(ChronoField.MONTH_OF_YEAR, TextStyle.FULL).optionalEnd()
+        .optionalStart().appendText(ChronoField.MONTH_OF_YEAR, TextStyle.SHORT).optionalEnd()
+        .optionalStart().appendLiteral(',').optionalEnd()
+        .appendLiteral(' ')
+        .appendValue(ChronoField.YEAR, 4)
+        .toFormatter(Locale.ENGLISH);
+
+    // "July 11, 2025", "Jul 11 2025"
+    private static final DateTimeFormatter MONTH_DAY_YEAR = new DateTimeFormatterBuilder()
+        .parseCaseInsensitive()
+        .optionalStart().appendText(ChronoField.MONTH_OF_YEAR, TextStyle.FULL).optionalEnd()
+        .optionalStart().appendText(ChronoField.MONTH_OF_YEAR, TextStyle.SHORT).optionalEnd()
+        .appendLiteral(' ')
+        .appendValue(ChronoField.DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE)
+        .optionalStart().appendLiteral(',').optionalEnd()
+        .appendLiteral(' ')
+        .appendValue(ChronoField.YEAR, 4)
+        .toFormatter(Locale.ENGLISH);
+
+    // "2025-07-15"
+    private static final DateTimeFormatter ISO_DATE = new DateTimeFormatterBuilder()
+        .appendValue(ChronoField.YEAR, 4)
+        .appendLiteral('-')
+        .appendValue(ChronoField.MONTH_OF_YEAR, 1, 2, SignStyle.NOT_NEGATIVE)
+        .appendLiteral('-')
+        .appendValue(ChronoField.DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE)
+        .toFormatter(Locale.ENGLISH);
+
+    // "15/07/2025"; read day first, swapped when only the US order is a valid date
+    private static final DateTimeFormatter SLASH_DATE = new DateTimeFormatterBuilder()
+        .appendValue(ChronoField.DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE)
+        .appendLiteral('/')
+        .appendValue(ChronoField.MONTH_OF_YEAR, 1, 2, SignStyle.NOT_NEGATIVE)
+        .appendLiteral('/')
+        .appendValue(ChronoField.YEAR, 4)
+        .toFormatter(Locale.ENGLISH);
+
+    // Private constructor to prevent instantiation
+    private DateRecognizer() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * The date at the start of the text (after an optional weekday), or else the first date
+     * found further on; empty if there is none
+     */
+    public static Optional<LocalDate> recognize(CharSequence text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        String value = text.toString();
+        int start = skipWeekday(value, skipSpaces(value, 0));
+        LocalDate date = recognizeAt(value, start);
+        // Not at the start: try each later word, like a search for the first date-looking part
+        for (int i = start + 1; date == null && i < value.length(); i++) {
+            if (Character.isLetterOrDigit(value.charAt(i)) && !Character.isLetterOrDigit(value.charAt(i - 1))) {
+                date = recognizeAt(value, i);
+            }
+        }
+        return Optional.ofNullable(date);
+    }
+
+    private static LocalDate recognizeAt(String text, int start) {
+        if (start >= text.length()) {
+            return null;
+        }
+        if (Character.isLetter(text.charAt(start))) {
+            return parse(MONTH_DAY_YEAR, text, start, false);
+        }
+
+        int digits = 0;
+        while (start + digits < text.length() && Character.isDigit(text.charAt(start + digits))) {
+            digits++;
+        }
+        if (digits == 0 || start + digits >= text.length()) {
+            return null;
+        }
+        char separator = text.charAt(start + digits);
+        if (digits == 4 && separator == '-') {
+            return parse(ISO_DATE, text, start, false);
+        }
+        if (digits <= 2 && separator == '/') {
+            return parse(SLASH_DATE, text, start, true);
+        }
+        if (digits <= 2 && separator == ' ') {
+            return parse(DAY_MONTH_YEAR, text, start, false);
+        }
+        return null;
+    }
+
+    private static LocalDate parse(DateTimeFormatter formatter, String text, int start, boolean swappable) {
+        ParsePosition position = new ParsePosition(start);
+        TemporalAccessor fields = formatter.parseUnresolved(text, position);
+        if (fields == null || position.getErrorIndex() >= 0
+            || !fields.isSupported(ChronoField.MONTH_OF_YEAR) || !fields.isSupported(ChronoField.DAY_OF_MONTH)) {
+            return null;
+        }
+        int year = (int) fields.getLong(ChronoField.YEAR);
+        int month = (int) fields.getLong(ChronoField.MONTH_OF_YEAR);
+        int day = (int) fields.getLong(ChronoField.DAY_OF_MONTH);
+        LocalDate date = toDate(year, month, day);
+        return date == null && swappable ? toDate(year, day, month) : date;
+    }
+
+    // The date if valid, else null, checked without LocalDate.of throwing
+    private static LocalDate toDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        int monthLength = switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day <= monthLength ? LocalDate.of(year, month, day) : null;
+    }
+
+    // Skip a leading "Friday, " / "Mon, " (any word followed by a comma and a day or month)
+    private static int skipWeekday(String text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isLetter(text.charAt(i))) {
+            i++;
+        }
+        if (i - start < 3 || i >= text.length() || text.charAt(i) != ',') {
+            return start;
+        }
+        return skipSpaces(text, i + 1);
+    }
+
+    private static int skipSpaces(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,101 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalized content fingerprint of an email, used to spot the same email saved twice
+ * under different file names. Only the identifying headers take part, and the body is
+ * whitespace-collapsed, so re-saves with different line endings or spacing hash the same.
+ */
+public final class EmailFingerprint {
+
+    private static final Set<String> IDENTIFYING_HEADERS = Set.of("from", "to", "cc", "sent", "date", "subject");
+
+    // Private constructor to prevent instantiation
+    private EmailFingerprint() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * SHA-256 (hex) over the identifying headers plus the whitespace-collapsed body
+     */
+    public static String of(String content) {
+        return sha256Hex(normalize(content));
+    }
+
+    static String normalize(String content) {
+        StringBuilder headers = new StringBuilder();
+        StringBuilder body = new StringBuilder(content.length());
+
+        int lineStart = 0;
+        boolean inHeaders = true;
+        while (lineStart <= content.length()) {
+            int lineEnd = content.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+
+            if (inHeaders) {
+                String line = content.substring(lineStart, lineEnd).trim();
+                int colon = line.indexOf(':');
+                if (line.isEmpty()) {
+                    // Leading blank lines come before the headers, not after them
+                    inHeaders = headers.length() == 0;
+                } else if (colon <= 0) {
+                    // Not a header line at all: the body starts without a separator
+                    inHeaders = false;
+                    appendWords(body, content, lineStart, lineEnd);
+                } else {
+                    String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                    if (IDENTIFYING_HEADERS.contains(name)) {
+                        headers.append(name).append(':');
+                        appendWords(headers, line, colon + 1, line.length());
+                        headers.append('\n');
+                    }
+                }
+            } else {
+                appendWords(body, content, lineStart, lineEnd);
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        return headers.append('\n').append(body).toString();
+    }
+
+    // Append each whitespace-separated word of the range, separated by single spaces
+    private static void appendWords(StringBuilder target, CharSequence source, int start, int end) {
+        int i = start;
+        while (i < end) {
+            while (i < end && Character.isWhitespace(source.charAt(i))) {
+                i++;
+            }
+            int wordStart = i;
+            while (i < end && !Character.isWhitespace(source.charAt(i))) {
+                i++;
+            }
+            if (i > wordStart) {
+                if (target.length() > 0 && target.charAt(target.length() - 1) != '\n') {
+                    target.append(' ');
+                }
+                target.append(source, wordStart, i);
+            }
+        }
+    }
+
+    /**
+     * SHA-256 (hex) of the text as UTF-8
+     */
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
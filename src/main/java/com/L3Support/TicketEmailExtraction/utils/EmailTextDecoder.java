@@ -0,0 +1,36 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes plain-text email bytes. Exports are usually UTF-8; anything that isn't valid UTF-8
+ * is taken as Windows-1252 instead of being rejected or turned into replacement chars. Loose
+ * files and archive messages both go through here, so the same email decodes (and
+ * fingerprints) the same wherever it came from.
+ */
+public final class EmailTextDecoder {
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    // Private constructor to prevent instantiation
+    private EmailTextDecoder() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static String decode(byte[] bytes) {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    public static String decode(byte[] bytes, int offset, int length) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                .decode(ByteBuffer.wrap(bytes, offset, length))
+                .toString();
+        } catch (CharacterCodingException e) {
+            return new String(bytes, offset, length, WINDOWS_1252);
+        }
+    }
+}
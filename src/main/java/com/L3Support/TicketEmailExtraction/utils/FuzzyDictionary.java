@@ -0,0 +1,162 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+/**
+ * Precomputed dictionary of keyword terms for typo-tolerant lookups in email text.
+ * Exact occurrences are found with one Aho-Corasick pass; for typos every word (and every
+ * run of words as long as the multi-word terms) is looked up once in a BK-tree of terms with
+ * the same word count. Only terms within a small edit distance come back as candidates, and
+ * those are then scored with Jaro-Winkler, so the cost grows with the number of words rather
+ * than words x terms. Immutable and thread-safe once built.
+ *
+ * @param <T> what a term stands for (a project, a priority, ...)
+ */
+public final class FuzzyDictionary<T> {
+
+    private static final LevenshteinDistance LEVENSHTEIN = LevenshteinDistance.getDefaultInstance();
+    private static final JaroWinklerSimilarity JARO_WINKLER = new JaroWinklerSimilarity();
+
+    private final Map<String, T> terms;
+    private final AhoCorasickMatcher exactMatcher;
+    // BK-trees of the terms, by number of words
+    private final Map<Integer, Node> treesByWordCount = new HashMap<>();
+    private final int maxWordCount;
+
+    /**
+     * @param terms lower-case terms and what they stand for; the first value of a repeated term wins
+     */
+    public FuzzyDictionary(Map<String, T> terms) {
+        this.terms = new LinkedHashMap<>(terms);
+        this.exactMatcher = new AhoCorasickMatcher(new ArrayList<>(this.terms.keySet()), false);
+        int words = 1;
+        for (String term : this.terms.keySet()) {
+            int count = wordCount(term);
+            words = Math.max(words, count);
+            Node root = treesByWordCount.get(count);
+            if (root == null) {
+                treesByWordCount.put(count, new Node(term));
+            } else {
+                root.add(term);
+            }
+        }
+        this.maxWordCount = words;
+    }
+
+    /**
+     * Every term found in the content with its best similarity: 1.0 when it occurs literally,
+     * otherwise the Jaro-Winkler score of the closest word or phrase if above minSimilarity
+     */
+    public Map<String, Match<T>> lookup(TokenizedContent content, double minSimilarity) {
+        Map<String, Match<T>> matches = new LinkedHashMap<>();
+        exactMatcher.scan(content, (patternIndex, start, end) -> {
+            String term = exactMatcher.getPatterns().get(patternIndex);
+            matches.putIfAbsent(term, new Match<>(term, terms.get(term), 1.0));
+            return true;
+        });
+
+        Set<CharSequence> looked = new HashSet<>();
+        for (int count = 1; count <= maxWordCount; count++) {
+            Node root = treesByWordCount.get(count);
+            if (root == null) {
+                continue;
+            }
+            for (int i = 0; i + count <= content.tokenCount(); i++) {
+                CharSequence phrase = content.window(i, count);
+                int radius = maxEdits(phrase.length());
+                if (radius == 0 || !looked.add(phrase)) {
+                    continue;
+                }
+                root.search(phrase, radius, candidate -> {
+                    Match<T> existing = matches.get(candidate);
+                    if (existing != null && existing.similarity() >= 1.0) {
+                        return;
+                    }
+                    double similarity = JARO_WINKLER.apply(phrase, candidate);
+                    if (similarity > minSimilarity && (existing == null || similarity > existing.similarity())) {
+                        matches.put(candidate, new Match<>(candidate, terms.get(candidate), similarity));
+                    }
+                });
+            }
+        }
+        return matches;
+    }
+
+    public Map<String, T> getTerms() {
+        return terms;
+    }
+
+    // Typos tolerated for a word of this length; very short words must match exactly
+    private static int maxEdits(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        if (length <= 5) {
+            return 1;
+        }
+        return length <= 10 ? 2 : 3;
+    }
+
+    private static int wordCount(String term) {
+        return term.trim().split("\\s+").length;
+    }
+
+    public record Match<T>(String term, T value, double similarity) {
+    }
+
+    private interface CandidateSink {
+        void accept(String term);
+    }
+
+    private static final class Node {
+        private final String term;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String term) {
+            this.term = term;
+        }
+
+        void add(String newTerm) {
+            Node node = this;
+            while (true) {
+                int distance = LEVENSHTEIN.apply(newTerm, node.term);
+                if (distance == 0) {
+                    return;
+                }
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(newTerm));
+                    return;
+                }
+                node = child;
+            }
+        }
+
+        // Triangle inequality: only subtrees at distance d - radius .. d + radius can hold matches
+        void search(CharSequence query, int radius, CandidateSink sink) {
+            List<Node> pending = new ArrayList<>();
+            pending.add(this);
+            while (!pending.isEmpty()) {
+                Node node = pending.remove(pending.size() - 1);
+                int distance = LEVENSHTEIN.apply(query, node.term);
+                if (distance <= radius) {
+                    sink.accept(node.term);
+                }
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    if (Math.abs(child.getKey() - distance) <= radius) {
+                        pending.add(child.getValue());
+                    }
+                }
+            }
+        }
+    }
+}
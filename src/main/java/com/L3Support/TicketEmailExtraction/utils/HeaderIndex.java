@@ -0,0 +1,200 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Header fields of an email, found in a single pass over the text. The index covers the first
+ * header block that carries at least one of the usual email fields (From, To, Cc, Sent, Date,
+ * Subject); anything before it, such as a pasted note, is skipped. Folded lines are unfolded,
+ * names are matched case-insensitively and the first occurrence of a field wins.
+ */
+public final class HeaderIndex {
+
+    private static final int MAX_NAME_LENGTH = 40;
+    private static final Set<String> EMAIL_FIELDS = Set.of(
+        "from", "to", "cc", "subject", "date", "sent", "sent on", "sent date", "date sent",
+        "receiveddate", "received date");
+
+    private static final HeaderIndex EMPTY = new HeaderIndex(Collections.emptyMap(), 0, 0);
+
+    private final Map<String, Field> fields;
+    private final int headerStart;
+    private final int bodyStart;
+
+    private HeaderIndex(Map<String, Field> fields, int headerStart, int bodyStart) {
+        this.fields = fields;
+        this.headerStart = headerStart;
+        this.bodyStart = bodyStart;
+    }
+
+    public static HeaderIndex of(CharSequence content) {
+        int length = content.length();
+        Map<String, Field> block = new LinkedHashMap<>();
+        int blockStart = -1;
+        boolean hasEmailField = false;
+        // Field whose value may still continue on folded lines
+        String openName = null;
+        int openStart = 0;
+        int openValueStart = 0;
+        StringBuilder openValue = null;
+
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && content.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int textEnd = lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            boolean blank = isBlank(content, lineStart, textEnd);
+
+            if (openName != null && !blank && isWhitespace(content.charAt(lineStart))) {
+                // Folded continuation of the previous field
+                int textStart = lineStart;
+                while (isWhitespace(content.charAt(textStart))) {
+                    textStart++;
+                }
+                openValue.append(' ').append(content, textStart, textEnd);
+                lineStart = lineEnd + 1;
+                continue;
+            }
+            if (openName != null) {
+                block.putIfAbsent(openName, new Field(openName, trim(openValue), openStart, openValueStart, lastEnd(content, lineStart)));
+                openName = null;
+            }
+
+            int colon = blank ? -1 : headerColon(content, lineStart, textEnd);
+            if (colon >= 0) {
+                if (blockStart < 0) {
+                    blockStart = lineStart;
+                }
+                openName = normalizeName(content, lineStart, colon);
+                openStart = lineStart;
+                openValueStart = colon + 1;
+                openValue = new StringBuilder().append(content, colon + 1, textEnd);
+                hasEmailField |= EMAIL_FIELDS.contains(openName);
+            } else if (blockStart >= 0) {
+                // End of a header block: keep it if it is an email header block, otherwise look further
+                if (hasEmailField) {
+                    return new HeaderIndex(block, blockStart, Math.min(length, lineEnd + 1));
+                }
+                block = new LinkedHashMap<>();
+                blockStart = -1;
+            }
+            lineStart = lineEnd + 1;
+        }
+        if (openName != null) {
+            block.putIfAbsent(openName, new Field(openName, trim(openValue), openStart, openValueStart, length));
+        }
+        return hasEmailField ? new HeaderIndex(block, blockStart, length) : EMPTY;
+    }
+
+    /**
+     * Unfolded, trimmed value of the field, or null if the header block does not have it
+     */
+    public String get(String name) {
+        Field field = fields.get(name.toLowerCase(Locale.ROOT));
+        return field != null ? field.value() : null;
+    }
+
+    /**
+     * Value of the first of the given fields that is present and not empty, tried in the given order
+     */
+    public String first(String... names) {
+        for (String name : names) {
+            String value = get(name);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    public Field field(String name) {
+        return fields.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    // Offset of the first line of the header block
+    public int getHeaderStart() {
+        return headerStart;
+    }
+
+    // Offset just past the header block (after its terminating blank line, if any)
+    public int getBodyStart() {
+        return bodyStart;
+    }
+
+    /**
+     * A header field; start is the offset of its name, valueStart the offset just past the colon,
+     * end the offset just past its last (possibly folded) line
+     */
+    public record Field(String name, String value, int start, int valueStart, int end) {
+    }
+
+    // Offset of the colon ending a field name at the start of the line, or -1
+    private static int headerColon(CharSequence content, int lineStart, int lineEnd) {
+        char first = content.charAt(lineStart);
+        if (!Character.isLetter(first)) {
+            return -1;
+        }
+        int limit = Math.min(lineEnd, lineStart + MAX_NAME_LENGTH + 1);
+        for (int i = lineStart + 1; i < limit; i++) {
+            char c = content.charAt(i);
+            if (c == ':') {
+                return i;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != ' ' && c != '_') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalizeName(CharSequence content, int start, int end) {
+        StringBuilder name = new StringBuilder(end - start);
+        boolean space = false;
+        for (int i = start; i < end; i++) {
+            char c = content.charAt(i);
+            if (c == ' ') {
+                space = name.length() > 0;
+            } else {
+                if (space) {
+                    name.append(' ');
+                    space = false;
+                }
+                name.append(Character.toLowerCase(c));
+            }
+        }
+        return name.toString();
+    }
+
+    private static int lastEnd(CharSequence content, int nextLineStart) {
+        // The previous line ends right before nextLineStart's '\n'
+        int end = Math.max(0, nextLineStart - 1);
+        return end > 0 && content.charAt(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    private static boolean isBlank(CharSequence content, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(content.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\u00A0';
+    }
+
+    private static String trim(StringBuilder value) {
+        return value.toString().trim();
+    }
+}
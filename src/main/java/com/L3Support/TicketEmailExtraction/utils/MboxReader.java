@@ -0,0 +1,163 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Streams the messages of an mbox file one at a time. A message starts at a "From " line
+ * at the start of the file or after a blank line; ">From " quoting is undone. Each message
+ * is capped at maxMessageBytes (the rest is skipped), so memory stays constant however
+ * large the mailbox is. Messages are returned as raw bytes: a mailbox mixes charsets, so
+ * each message is decoded on its own.
+ */
+public class MboxReader implements Closeable {
+
+    private static final byte[] SEPARATOR = {'F', 'r', 'o', 'm', ' '};
+
+    private final InputStream input;
+    private final int maxMessageBytes;
+    private final byte[] buffer = new byte[8192];
+    private int bufferPosition;
+    private int bufferLimit;
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private boolean lineTruncated;
+    private boolean endOfInput;
+    private boolean atStart = true;
+    private boolean previousLineBlank;
+    private boolean lastMessageTruncated;
+
+    public MboxReader(InputStream input, int maxMessageBytes) {
+        this.input = input;
+        this.maxMessageBytes = maxMessageBytes;
+    }
+
+    /**
+     * The next message without its "From " envelope line, or null at the end of the mailbox
+     */
+    public byte[] nextMessage() throws IOException {
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        lastMessageTruncated = false;
+
+        while (readLine()) {
+            boolean separator = (atStart || previousLineBlank) && startsWithAt(SEPARATOR, 0);
+            atStart = false;
+            if (separator) {
+                if (message.size() > 0) {
+                    // The next message's envelope line is consumed here; it carries nothing we need
+                    previousLineBlank = false;
+                    return message.toByteArray();
+                }
+                previousLineBlank = false;
+                continue;
+            }
+
+            previousLineBlank = isBlankLine();
+            int skip = isQuotedFrom() ? 1 : 0;
+            if (lastMessageTruncated || lineTruncated || message.size() + lineLength - skip + 1 > maxMessageBytes) {
+                // Keep the slice a clean prefix of the message; the rest is only scanned for the next separator
+                lastMessageTruncated = true;
+                continue;
+            }
+            message.write(line, skip, lineLength - skip);
+            message.write('\n');
+        }
+        return message.size() > 0 ? message.toByteArray() : null;
+    }
+
+    /**
+     * Whether the message last returned was cut off at maxMessageBytes
+     */
+    public boolean isLastMessageTruncated() {
+        return lastMessageTruncated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    // Reads the next line (without terminator) into line; overlong lines are cut at maxMessageBytes
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        lineTruncated = false;
+        if (endOfInput) {
+            return false;
+        }
+
+        boolean readAnything = false;
+        while (true) {
+            if (bufferPosition == bufferLimit) {
+                bufferLimit = input.read(buffer, 0, buffer.length);
+                bufferPosition = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    endOfInput = true;
+                    return readAnything;
+                }
+            }
+            readAnything = true;
+
+            int start = bufferPosition;
+            while (bufferPosition < bufferLimit && buffer[bufferPosition] != '\n') {
+                bufferPosition++;
+            }
+            appendToLine(start, bufferPosition);
+            if (bufferPosition < bufferLimit) {
+                // Consume the '\n'
+                bufferPosition++;
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                return true;
+            }
+        }
+    }
+
+    private void appendToLine(int start, int end) {
+        int room = maxMessageBytes - lineLength;
+        if (end - start > room) {
+            lineTruncated = true;
+            end = start + Math.max(0, room);
+        }
+        int count = end - start;
+        if (lineLength + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + count));
+        }
+        System.arraycopy(buffer, start, line, lineLength, count);
+        lineLength += count;
+    }
+
+    private boolean isQuotedFrom() {
+        int i = 0;
+        while (i < lineLength && line[i] == '>') {
+            i++;
+        }
+        return i > 0 && startsWithAt(SEPARATOR, i);
+    }
+
+    private boolean isBlankLine() {
+        for (int i = 0; i < lineLength; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean startsWithAt(byte[] prefix, int offset) {
+        if (lineLength - offset < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (line[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,615 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming reader that turns a raw MIME message into the plain text the parsers expect:
+ * the unfolded top-level headers, a blank line, then the text/plain part (or the text/html
+ * part converted to text). Transfer encodings and charsets are decoded incrementally, and
+ * attachment bytes are only scanned for the next boundary, never buffered.
+ */
+public final class MimeTextExtractor {
+
+    private static final int MAX_LINE_BYTES = 256 * 1024;
+    private static final Pattern ENCODED_WORD = Pattern.compile("=\\?([^?\\s]+)\\?([bBqQ])\\?([^?\\s]*)\\?=");
+    private static final Pattern ENCODED_WORD_GAP = Pattern.compile("(\\?=)\\s+(=\\?)");
+
+    // Private constructor to prevent instantiation
+    private MimeTextExtractor() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Whether the header block (up to the first blank line) declares MIME content
+     */
+    public static boolean isMime(CharSequence content) {
+        int lineStart = 0;
+        int length = content.length();
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && content.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int end = lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            if (end == lineStart) {
+                return false;
+            }
+            if (startsWithIgnoreCase(content, lineStart, end, "mime-version:")
+                    || startsWithIgnoreCase(content, lineStart, end, "content-type:")) {
+                return true;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return false;
+    }
+
+    public static String extract(InputStream input, int maxTextChars) throws IOException {
+        return new Extraction(input, maxTextChars, null).run();
+    }
+
+    /**
+     * For text that was already decoded: unencoded parts are taken as they are, encoded parts
+     * are decoded with their declared charset
+     */
+    public static String extract(String content, int maxTextChars) {
+        try {
+            return new Extraction(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                    maxTextChars, StandardCharsets.UTF_8).run();
+        } catch (IOException e) {
+            // Cannot happen for an in-memory stream
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decode RFC 2047 encoded words ("=?UTF-8?B?...?=") in a header value
+     */
+    static String decodeHeaderValue(String value) {
+        if (!value.contains("=?")) {
+            return value;
+        }
+        // Whitespace between two adjacent encoded words is not part of the text
+        String joined = ENCODED_WORD_GAP.matcher(value).replaceAll("$1$2");
+        Matcher matcher = ENCODED_WORD.matcher(joined);
+        StringBuilder decoded = new StringBuilder();
+        int last = 0;
+        while (matcher.find()) {
+            decoded.append(joined, last, matcher.start());
+            try {
+                Charset charset = Charset.forName(matcher.group(1));
+                byte[] bytes = matcher.group(2).equalsIgnoreCase("B")
+                    ? Base64.getMimeDecoder().decode(matcher.group(3))
+                    : decodeQuotedPrintable(matcher.group(3).replace('_', ' ').getBytes(StandardCharsets.US_ASCII));
+                decoded.append(new String(bytes, charset));
+            } catch (IllegalArgumentException e) {
+                decoded.append(matcher.group());
+            }
+            last = matcher.end();
+        }
+        return decoded.append(joined, last, joined.length()).toString();
+    }
+
+    static String htmlToText(CharSequence html) {
+        StringBuilder text = new StringBuilder(html.length() / 2);
+        int i = 0;
+        int length = html.length();
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                int close = indexOf(html, '>', i + 1);
+                if (close < 0) {
+                    break;
+                }
+                String tag = tagName(html, i + 1, close);
+                if (tag.equals("script") || tag.equals("style")) {
+                    int end = indexOfIgnoreCase(html, "</" + tag, close + 1);
+                    int endClose = end < 0 ? -1 : indexOf(html, '>', end);
+                    close = endClose < 0 ? length - 1 : endClose;
+                } else if (tag.equals("br") || tag.equals("p") || tag.equals("/p") || tag.equals("div") || tag.equals("/div")
+                        || tag.equals("tr") || tag.equals("/tr") || tag.equals("li") || tag.equals("/table")
+                        || (tag.length() == 2 && tag.charAt(0) == 'h' && Character.isDigit(tag.charAt(1)))) {
+                    text.append('\n');
+                } else if (tag.equals("td") || tag.equals("th")) {
+                    text.append(' ');
+                }
+                i = close + 1;
+            } else if (c == '&') {
+                int semicolon = indexOf(html, ';', i + 1);
+                if (semicolon > i && semicolon - i <= 10) {
+                    String entity = decodeEntity(html.subSequence(i + 1, semicolon).toString());
+                    if (entity != null) {
+                        text.append(entity);
+                        i = semicolon + 1;
+                        continue;
+                    }
+                }
+                text.append(c);
+                i++;
+            } else {
+                text.append(c);
+                i++;
+            }
+        }
+
+        // Collapse the layout whitespace HTML leaves behind
+        StringBuilder result = new StringBuilder(text.length());
+        int blankLines = 0;
+        for (String line : text.toString().split("\n", -1)) {
+            String trimmed = line.replace('\u00A0', ' ').replaceAll("[ \\t\\r]+", " ").trim();
+            if (trimmed.isEmpty()) {
+                if (++blankLines > 1 || result.length() == 0) {
+                    continue;
+                }
+            } else {
+                blankLines = 0;
+            }
+            result.append(trimmed).append('\n');
+        }
+        return result.toString().trim();
+    }
+
+    private static final class Extraction {
+        private final InputStream input;
+        private final int maxTextChars;
+        // When set, unencoded parts are decoded with this instead of their declared charset
+        private final Charset identityCharset;
+
+        private final byte[] buffer = new byte[8192];
+        private int bufferPosition;
+        private int bufferLimit;
+        private boolean endOfInput;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+        private final Deque<String> boundaries = new ArrayDeque<>();
+        private StringBuilder plainText;
+        private StringBuilder htmlText;
+
+        Extraction(InputStream input, int maxTextChars, Charset identityCharset) {
+            this.input = input;
+            this.maxTextChars = maxTextChars;
+            this.identityCharset = identityCharset;
+        }
+
+        String run() throws IOException {
+            PartHeaders headers = readHeaders();
+            readBody(headers);
+
+            StringBuilder result = new StringBuilder();
+            for (String[] header : headers.fields) {
+                String name = header[0].toLowerCase(Locale.ROOT);
+                if (name.startsWith("content-") || name.equals("mime-version")) {
+                    continue;
+                }
+                result.append(header[0]).append(": ").append(decodeHeaderValue(header[1])).append('\n');
+            }
+            result.append('\n');
+            if (plainText != null && !plainText.toString().isBlank()) {
+                result.append(plainText.toString().trim());
+            } else if (htmlText != null) {
+                result.append(htmlToText(htmlText));
+            }
+            return result.toString();
+        }
+
+        // Reads the body of a part; returns the boundary line that ended it, or null at end of input
+        private BoundaryHit readBody(PartHeaders headers) throws IOException {
+            if (headers.mediaType.startsWith("multipart/") && headers.boundary != null) {
+                boundaries.push(headers.boundary);
+                BoundaryHit hit = skipToBoundary();
+                while (hit != null && hit.boundary.equals(headers.boundary) && !hit.closing) {
+                    hit = readBody(readHeaders());
+                }
+                boundaries.pop();
+                if (hit != null && hit.boundary.equals(headers.boundary)) {
+                    // Epilogue after the closing boundary belongs to nobody
+                    hit = skipToBoundary();
+                }
+                return hit;
+            }
+
+            StringBuilder sink = sinkFor(headers);
+            if (sink == null) {
+                return skipToBoundary();
+            }
+
+            PartDecoder decoder = new PartDecoder(headers, sink);
+            while (readLine()) {
+                BoundaryHit hit = matchBoundary();
+                if (hit != null) {
+                    decoder.finish();
+                    return hit;
+                }
+                decoder.line(line.toByteArray());
+            }
+            decoder.finish();
+            return null;
+        }
+
+        private StringBuilder sinkFor(PartHeaders headers) {
+            if (headers.attachment) {
+                return null;
+            }
+            if (headers.mediaType.equals("text/plain") && plainText == null) {
+                plainText = new StringBuilder();
+                return plainText;
+            }
+            if (headers.mediaType.equals("text/html") && htmlText == null) {
+                htmlText = new StringBuilder();
+                return htmlText;
+            }
+            return null;
+        }
+
+        private BoundaryHit skipToBoundary() throws IOException {
+            while (readLine()) {
+                BoundaryHit hit = matchBoundary();
+                if (hit != null) {
+                    return hit;
+                }
+            }
+            return null;
+        }
+
+        private BoundaryHit matchBoundary() {
+            if (boundaries.isEmpty() || line.size() < 3) {
+                return null;
+            }
+            byte[] bytes = line.toByteArray();
+            if (bytes[0] != '-' || bytes[1] != '-') {
+                return null;
+            }
+            String candidate = new String(bytes, 2, bytes.length - 2, StandardCharsets.US_ASCII).stripTrailing();
+            for (String boundary : boundaries) {
+                if (candidate.equals(boundary)) {
+                    return new BoundaryHit(boundary, false);
+                }
+                if (candidate.length() == boundary.length() + 2 && candidate.startsWith(boundary) && candidate.endsWith("--")) {
+                    return new BoundaryHit(boundary, true);
+                }
+            }
+            return null;
+        }
+
+        private PartHeaders readHeaders() throws IOException {
+            List<String[]> fields = new ArrayList<>();
+            StringBuilder current = null;
+            while (readLine()) {
+                if (line.size() == 0) {
+                    break;
+                }
+                String text = line.toString(StandardCharsets.UTF_8);
+                if ((text.charAt(0) == ' ' || text.charAt(0) == '\t') && current != null) {
+                    // Folded continuation of the previous header
+                    current.append(' ').append(text.trim());
+                    continue;
+                }
+                if (current != null) {
+                    addField(fields, current.toString());
+                }
+                current = new StringBuilder(text);
+            }
+            if (current != null) {
+                addField(fields, current.toString());
+            }
+            return new PartHeaders(fields);
+        }
+
+        private static void addField(List<String[]> fields, String header) {
+            int colon = header.indexOf(':');
+            if (colon > 0) {
+                fields.add(new String[] { header.substring(0, colon).trim(), header.substring(colon + 1).trim() });
+            }
+        }
+
+        // Next line without its line terminator; lines beyond MAX_LINE_BYTES are cut
+        private boolean readLine() throws IOException {
+            line.reset();
+            if (endOfInput) {
+                return false;
+            }
+            boolean readAnything = false;
+            while (true) {
+                if (bufferPosition == bufferLimit) {
+                    bufferLimit = input.read(buffer, 0, buffer.length);
+                    bufferPosition = 0;
+                    if (bufferLimit <= 0) {
+                        bufferLimit = 0;
+                        endOfInput = true;
+                        return readAnything;
+                    }
+                }
+                readAnything = true;
+                int start = bufferPosition;
+                while (bufferPosition < bufferLimit && buffer[bufferPosition] != '\n') {
+                    bufferPosition++;
+                }
+                int room = MAX_LINE_BYTES - line.size();
+                line.write(buffer, start, Math.min(room, bufferPosition - start));
+                if (bufferPosition < bufferLimit) {
+                    bufferPosition++;
+                    if (line.size() > 0) {
+                        byte[] bytes = line.toByteArray();
+                        if (bytes[bytes.length - 1] == '\r') {
+                            line.reset();
+                            line.write(bytes, 0, bytes.length - 1);
+                        }
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private final class PartDecoder {
+            private final String transferEncoding;
+            private final CharsetDecoder charsetDecoder;
+            private final StringBuilder sink;
+            private final StringBuilder base64Pending = new StringBuilder();
+            private ByteBuffer pendingBytes = ByteBuffer.allocate(0);
+            private final CharBuffer chars = CharBuffer.allocate(8192);
+
+            PartDecoder(PartHeaders headers, StringBuilder sink) {
+                this.transferEncoding = headers.transferEncoding;
+                this.sink = sink;
+                boolean encoded = transferEncoding.equals("base64") || transferEncoding.equals("quoted-printable");
+                Charset charset = !encoded && identityCharset != null ? identityCharset : headers.charset();
+                this.charsetDecoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+
+            void line(byte[] bytes) {
+                if (full()) {
+                    return;
+                }
+                switch (transferEncoding) {
+                    case "base64" -> {
+                        for (byte b : bytes) {
+                            char c = (char) (b & 0xff);
+                            if (Character.isLetterOrDigit(c) || c == '+' || c == '/' || c == '=') {
+                                base64Pending.append(c);
+                            }
+                        }
+                        int usable = base64Pending.length() - base64Pending.length() % 4;
+                        if (usable > 0) {
+                            decode(decodeBase64(base64Pending.substring(0, usable)), false);
+                            base64Pending.delete(0, usable);
+                        }
+                    }
+                    case "quoted-printable" -> {
+                        boolean softBreak = bytes.length > 0 && bytes[bytes.length - 1] == '=';
+                        byte[] decoded = decodeQuotedPrintable(softBreak ? Arrays.copyOf(bytes, bytes.length - 1) : bytes);
+                        decode(decoded, false);
+                        if (!softBreak) {
+                            decode(new byte[] { '\n' }, false);
+                        }
+                    }
+                    default -> {
+                        decode(bytes, false);
+                        decode(new byte[] { '\n' }, false);
+                    }
+                }
+            }
+
+            void finish() {
+                if (!full() && base64Pending.length() > 0) {
+                    decode(decodeBase64(base64Pending.toString()), false);
+                }
+                decode(new byte[0], true);
+            }
+
+            private boolean full() {
+                return sink.length() >= maxTextChars;
+            }
+
+            // Feeds bytes through the charset decoder; a character split across chunks waits for the rest
+            private void decode(byte[] bytes, boolean endOfInput) {
+                if (full()) {
+                    return;
+                }
+                ByteBuffer in;
+                if (pendingBytes.hasRemaining()) {
+                    in = ByteBuffer.allocate(pendingBytes.remaining() + bytes.length);
+                    in.put(pendingBytes).put(bytes).flip();
+                } else {
+                    in = ByteBuffer.wrap(bytes);
+                }
+                while (true) {
+                    chars.clear();
+                    boolean overflow = charsetDecoder.decode(in, chars, endOfInput).isOverflow();
+                    if (endOfInput && !overflow) {
+                        charsetDecoder.flush(chars);
+                    }
+                    chars.flip();
+                    int room = maxTextChars - sink.length();
+                    sink.append(chars, 0, Math.min(room, chars.length()));
+                    if (!overflow || full()) {
+                        break;
+                    }
+                }
+                pendingBytes = in.hasRemaining() ? ByteBuffer.wrap(copyRemaining(in)) : ByteBuffer.allocate(0);
+            }
+        }
+    }
+
+    private static final class PartHeaders {
+        private final List<String[]> fields;
+        private String mediaType = "text/plain";
+        private String boundary;
+        private String charsetName;
+        private String transferEncoding = "7bit";
+        private boolean attachment;
+
+        PartHeaders(List<String[]> fields) {
+            this.fields = fields;
+            for (String[] field : fields) {
+                String name = field[0].toLowerCase(Locale.ROOT);
+                String value = field[1];
+                switch (name) {
+                    case "content-type" -> {
+                        int semicolon = value.indexOf(';');
+                        mediaType = (semicolon < 0 ? value : value.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+                        boundary = parameter(value, "boundary");
+                        charsetName = parameter(value, "charset");
+                        if (parameter(value, "name") != null) {
+                            attachment = true;
+                        }
+                    }
+                    case "content-transfer-encoding" -> transferEncoding = value.trim().toLowerCase(Locale.ROOT);
+                    case "content-disposition" -> {
+                        if (value.toLowerCase(Locale.ROOT).startsWith("attachment") || parameter(value, "filename") != null) {
+                            attachment = true;
+                        }
+                    }
+                    default -> {
+                        // Other headers are only kept for the output
+                    }
+                }
+            }
+        }
+
+        Charset charset() {
+            if (charsetName != null) {
+                try {
+                    return Charset.forName(charsetName);
+                } catch (IllegalArgumentException e) {
+                    // Unknown or malformed charset name; fall through to the default
+                }
+            }
+            return StandardCharsets.UTF_8;
+        }
+
+        private static String parameter(String headerValue, String parameterName) {
+            for (String part : headerValue.split(";")) {
+                int equals = part.indexOf('=');
+                if (equals > 0 && part.substring(0, equals).trim().equalsIgnoreCase(parameterName)) {
+                    String value = part.substring(equals + 1).trim();
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record BoundaryHit(String boundary, boolean closing) {
+    }
+
+    private static byte[] decodeBase64(String quanta) {
+        try {
+            return Base64.getMimeDecoder().decode(quanta);
+        } catch (IllegalArgumentException e) {
+            return new byte[0];
+        }
+    }
+
+    private static byte[] decodeQuotedPrintable(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (b == '=' && i + 2 < bytes.length) {
+                int high = Character.digit(bytes[i + 1], 16);
+                int low = Character.digit(bytes[i + 2], 16);
+                if (high >= 0 && low >= 0) {
+                    out.write((high << 4) | low);
+                    i += 2;
+                    continue;
+                }
+            }
+            out.write(b);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] copyRemaining(ByteBuffer buffer) {
+        byte[] remaining = new byte[buffer.remaining()];
+        buffer.get(remaining);
+        return remaining;
+    }
+
+    private static String decodeEntity(String entity) {
+        switch (entity.toLowerCase(Locale.ROOT)) {
+            case "amp": return "&";
+            case "lt": return "<";
+            case "gt": return ">";
+            case "quot": return "\"";
+            case "apos": return "'";
+            case "nbsp": return " ";
+            default: break;
+        }
+        if (entity.startsWith("#")) {
+            try {
+                int codePoint = entity.length() > 1 && (entity.charAt(1) == 'x' || entity.charAt(1) == 'X')
+                    ? Integer.parseInt(entity.substring(2), 16)
+                    : Integer.parseInt(entity.substring(1));
+                return new String(Character.toChars(codePoint));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String tagName(CharSequence html, int start, int end) {
+        int i = start;
+        StringBuilder name = new StringBuilder();
+        if (i < end && html.charAt(i) == '/') {
+            name.append('/');
+            i++;
+        }
+        while (i < end && Character.isLetterOrDigit(html.charAt(i))) {
+            name.append(Character.toLowerCase(html.charAt(i)));
+            i++;
+        }
+        return name.toString();
+    }
+
+    private static int indexOf(CharSequence text, char c, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfIgnoreCase(CharSequence text, String needle, int from) {
+        for (int i = from; i + needle.length() <= text.length(); i++) {
+            if (startsWithIgnoreCase(text, i, text.length(), needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence text, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.L3Support.TicketEmailExtraction.enums.Project;
+
+/**
+ * Finds the project an email is about from the display names and aliases of {@link Project},
+ * compiled once into a single automaton so the text is scanned exactly once.
+ *
+ * Precedence when several projects are mentioned:
+ * 1. A display name or alias beats the bare words "alumni" and "hepl".
+ * 2. HEPL Alumni beats CK Alumni and HEPL Portal; otherwise the project declared first in the enum wins.
+ * 3. With only bare words: "alumni" with "hepl" is HEPL Alumni, "alumni" alone CK Alumni, "hepl" alone HEPL Portal.
+ * Matches must start and end on word boundaries.
+ */
+public final class ProjectDetector {
+
+    private static final String ALUMNI = "alumni";
+    private static final String ALUMNI_TYPO = "alumini";
+    private static final String HEPL = "hepl";
+
+    private static final AhoCorasickMatcher MATCHER;
+    // Project of each automaton pattern; null for the bare family words
+    private static final List<Project> PATTERN_PROJECTS;
+    private static final Map<Project, Integer> RANK = new EnumMap<>(Project.class);
+
+    static {
+        Map<String, Project> aliases = new LinkedHashMap<>();
+        for (Project project : Project.values()) {
+            if (project == Project.GENERAL) {
+                continue;
+            }
+            for (String name : project.getNames()) {
+                aliases.putIfAbsent(name, project);
+            }
+        }
+        aliases.putIfAbsent(ALUMNI, null);
+        aliases.putIfAbsent(ALUMNI_TYPO, null);
+        aliases.putIfAbsent(HEPL, null);
+
+        MATCHER = new AhoCorasickMatcher(new ArrayList<>(aliases.keySet()), true);
+        PATTERN_PROJECTS = new ArrayList<>(aliases.values());
+
+        int rank = 0;
+        RANK.put(Project.HEPL_ALUMNI, rank++);
+        for (Project project : Project.values()) {
+            RANK.putIfAbsent(project, rank++);
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ProjectDetector() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * The project mentioned in the text by the precedence rules above, or empty if none is
+     */
+    public static Optional<Detection> detect(CharSequence text) {
+        Detection[] best = new Detection[1];
+        boolean[] bareWords = new boolean[2]; // alumni, hepl
+
+        MATCHER.scan(text, (patternIndex, start, end) -> {
+            if (!isWordBoundary(text, start - 1) || !isWordBoundary(text, end)) {
+                return true;
+            }
+            Project project = PATTERN_PROJECTS.get(patternIndex);
+            if (project == null) {
+                String word = MATCHER.getPatterns().get(patternIndex);
+                bareWords[word.equals(HEPL) ? 1 : 0] = true;
+            } else if (best[0] == null || RANK.get(project) < RANK.get(best[0].project())) {
+                best[0] = new Detection(project, MATCHER.getPatterns().get(patternIndex), start);
+            }
+            return true;
+        });
+
+        if (best[0] != null) {
+            return Optional.of(best[0]);
+        }
+        if (bareWords[0]) {
+            return Optional.of(new Detection(bareWords[1] ? Project.HEPL_ALUMNI : Project.CK_ALUMNI, ALUMNI, -1));
+        }
+        if (bareWords[1]) {
+            return Optional.of(new Detection(Project.HEPL_PORTAL, HEPL, -1));
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isWordBoundary(CharSequence text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    /**
+     * A detected project with the name or alias that decided it and where it was found
+     * (-1 when decided by bare words)
+     */
+    public record Detection(Project project, String matchedName, int position) {
+    }
+}
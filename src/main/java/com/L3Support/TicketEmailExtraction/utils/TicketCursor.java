@@ -0,0 +1,41 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page tokens for ticket listings. A token holds the id of the last ticket of a page;
+ * the next page is the tickets with a lower id, so any page is one index range scan however
+ * deep it is, and tickets added meanwhile do not shift the pages.
+ */
+public final class TicketCursor {
+
+    private static final String VERSION = "t1:";
+
+    // Private constructor to prevent instantiation
+    private TicketCursor() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static String encode(long lastTicketId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((VERSION + lastTicketId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * The ticket id in a token from {@link #encode}
+     *
+     * @throws IllegalArgumentException if the token was not made by {@link #encode}
+     */
+    public static long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+            if (value.startsWith(VERSION)) {
+                return Long.parseLong(value.substring(VERSION.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64 or not a number; reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,182 @@
+package com.L3Support.TicketEmailExtraction.utils;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * An email's text prepared once for all keyword extractors: lower-cased, whitespace runs
+ * collapsed to a single space, with the token boundaries kept as int offsets. Because tokens
+ * are separated by exactly one space, a window of n consecutive tokens is a contiguous slice
+ * and can be handed out as a view instead of a new string.
+ */
+public final class TokenizedContent implements CharSequence {
+
+    private final char[] text;
+    private final int length;
+    private final int[] tokenStarts;
+    private final int[] tokenEnds;
+    private final int tokenCount;
+    private final boolean truncated;
+    private String string;
+
+    private TokenizedContent(char[] text, int length, int[] tokenStarts, int[] tokenEnds, int tokenCount, boolean truncated) {
+        this.text = text;
+        this.length = length;
+        this.tokenStarts = tokenStarts;
+        this.tokenEnds = tokenEnds;
+        this.tokenCount = tokenCount;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Tokenize the parts as if joined with a space; null parts are skipped
+     */
+    public static TokenizedContent of(CharSequence... parts) {
+        return limited(Integer.MAX_VALUE, parts);
+    }
+
+    /**
+     * Like {@link #of}, but stop after maxTokens tokens without reading the rest of the text;
+     * {@link #isTruncated()} tells whether anything was left out
+     */
+    public static TokenizedContent limited(int maxTokens, CharSequence... parts) {
+        int capacity = 0;
+        for (CharSequence part : parts) {
+            capacity += part != null ? part.length() + 1 : 0;
+        }
+        if (maxTokens < Integer.MAX_VALUE) {
+            // Typical words are short; grow on demand instead of sizing for the whole text
+            capacity = (int) Math.min(capacity, maxTokens * 8L + 16);
+        }
+        char[] text = new char[capacity];
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int length = 0;
+        int tokens = 0;
+        boolean inToken = false;
+
+        for (CharSequence part : parts) {
+            if (part == null) {
+                continue;
+            }
+            for (int i = 0; i <= part.length(); i++) {
+                // The end of each part acts as whitespace
+                char c = i < part.length() ? part.charAt(i) : ' ';
+                if (Character.isWhitespace(c) || c == '\u00A0') {
+                    if (inToken) {
+                        ends[tokens++] = length;
+                        inToken = false;
+                    }
+                    continue;
+                }
+                if (!inToken) {
+                    if (tokens == maxTokens) {
+                        return new TokenizedContent(text, length, starts, ends, tokens, true);
+                    }
+                    if (tokens == starts.length) {
+                        starts = Arrays.copyOf(starts, tokens * 2);
+                        ends = Arrays.copyOf(ends, tokens * 2);
+                    }
+                    if (length > 0) {
+                        text = ensureCapacity(text, length + 1);
+                        text[length++] = ' ';
+                    }
+                    starts[tokens] = length;
+                    inToken = true;
+                }
+                text = ensureCapacity(text, length + 1);
+                text[length++] = Character.toLowerCase(c);
+            }
+        }
+        return new TokenizedContent(text, length, starts, ends, tokens, false);
+    }
+
+    private static char[] ensureCapacity(char[] text, int needed) {
+        return needed <= text.length ? text : Arrays.copyOf(text, Math.max(needed, text.length * 2));
+    }
+
+    public int tokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Whether tokens were left out because of the limit given to {@link #limited}
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int tokenStart(int token) {
+        return tokenStarts[token];
+    }
+
+    public int tokenEnd(int token) {
+        return tokenEnds[token];
+    }
+
+    /**
+     * View of count consecutive tokens starting at the given one, separated by single spaces
+     */
+    public CharSequence window(int firstToken, int count) {
+        int start = tokenStarts[firstToken];
+        return CharBuffer.wrap(text, start, tokenEnds[firstToken + count - 1] - start).slice();
+    }
+
+    /**
+     * Whether the lower-case term occurs anywhere in the text
+     */
+    public boolean contains(String term) {
+        return indexOf(term, 0) >= 0;
+    }
+
+    public int indexOf(String term, int from) {
+        int termLength = term.length();
+        if (termLength == 0) {
+            return Math.min(from, length);
+        }
+        char first = term.charAt(0);
+        int last = length - termLength;
+        for (int i = Math.max(0, from); i <= last; i++) {
+            if (text[i] != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < termLength && text[i + j] == term.charAt(j)) {
+                j++;
+            }
+            if (j == termLength) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return text[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        }
+        return CharBuffer.wrap(text, start, end - start).slice();
+    }
+
+    @Override
+    public String toString() {
+        if (string == null) {
+            string = new String(text, 0, length);
+        }
+        return string;
+    }
+}
@@ -0,0 +1,127 @@
+package com.L3Support.TicketEmailExtraction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.L3Support.TicketEmailExtraction.utils.DateRecognizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the sent-date recognizer with the previous approach (formatters built per call and
+ * tried in order until one does not throw) on the header shapes seen in the mailbox.
+ */
+@Slf4j
+public class DateRecognizerBenchmarkTest {
+
+    private static final List<String> SENT_HEADERS = List.of(
+        "12 July 2025 10:26",
+        "Friday, July 11, 2025 11:25 AM",
+        "Mon, 15 Jul 2025 15:21:00 +0000",
+        "15/07/2025 15:21",
+        "2025-07-15",
+        "Jul 15, 2025");
+
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    public void recognizesTheSameDatesAsThePreviousParser() {
+        for (String header : SENT_HEADERS) {
+            assertEquals(legacyParse(header), DateRecognizer.recognize(header).orElse(null), header);
+        }
+        assertEquals(LocalDate.of(2025, 7, 15), DateRecognizer.recognize("07/15/2025").orElse(null));
+    }
+
+    // Timing only, so it is left out of the normal build; run it with
+    // mvn test -Dtest.excludedGroups= -Dgroups=benchmark
+    @Test
+    @Tag("benchmark")
+    public void benchmarkPerEmailCost() {
+        // Warm up both paths before timing
+        runLegacy(ITERATIONS / 10);
+        runRecognizer(ITERATIONS / 10);
+
+        long legacyNanos = runLegacy(ITERATIONS);
+        long recognizerNanos = runRecognizer(ITERATIONS);
+
+        double emails = (double) ITERATIONS * SENT_HEADERS.size();
+        log.info("⏱️ Sent-date parsing per email - previous: {} ns, recognizer: {} ns",
+            String.format("%.0f", legacyNanos / emails), String.format("%.0f", recognizerNanos / emails));
+    }
+
+    private long runLegacy(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String header : SENT_HEADERS) {
+                legacyParse(header);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runRecognizer(int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String header : SENT_HEADERS) {
+                DateRecognizer.recognize(header);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    // The parser as it was: formatters built on every call, tried in order via exceptions
+    private static LocalDate legacyParse(String dateString) {
+        DateTimeFormatter[] formatters = {
+            DateTimeFormatter.ofPattern("d MMMM yyyy HH:mm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy h:mm a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy HH:mm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMMM d, yyyy h:mm a", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("d MMM yyyy HH:mm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMMM d, yyyy HH:mm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMM d, yyyy HH:mm", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm"),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+            new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .appendOptional(DateTimeFormatter.ofPattern("EEE, ", Locale.ENGLISH))
+                .appendPattern("d MMM yyyy HH:mm:ss")
+                .appendOptional(DateTimeFormatter.ofPattern(" Z"))
+                .toFormatter(Locale.ENGLISH)
+        };
+
+        for (DateTimeFormatter formatter : formatters) {
+            try {
+                return LocalDate.parse(dateString, formatter);
+            } catch (DateTimeParseException e) {
+                // Next formatter
+            }
+        }
+
+        Matcher dateOnly = Pattern.compile("(\\d{1,2}\\s+\\w+\\s+\\d{4}|\\d{4}-\\d{2}-\\d{2}|\\d{1,2}/\\d{1,2}/\\d{4})")
+            .matcher(dateString);
+        if (dateOnly.find() && !dateOnly.group(1).equals(dateString)) {
+            return legacyParse(dateOnly.group(1));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.L3Support.TicketEmailExtraction.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TicketExportServiceTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '`', value = {
+        "plain text       | plain text",
+        "a,b              | `\"a,b\"`",
+        "say \"hi\"       | `\"say \"\"hi\"\"\"`",
+        "=HYPERLINK(\"x\") | `\"'=HYPERLINK(\"\"x\"\")\"`",
+        "+1 555           | `\"'+1 555\"`",
+        "-cmd             | `\"'-cmd\"`",
+        "@SUM(A1)         | `\"'@SUM(A1)\"`",
+        "a=b              | a=b"
+    })
+    public void quotesAndNeutralisesFields(String value, String expected) {
+        assertEquals(expected, TicketExportService.csvField(value));
+    }
+}